@@ -0,0 +1,297 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Les charges de travail mesurées par les benchmarks JMH du paquetage {@code benchmarks}.
+ * JMH refuse les classes de benchmark du paquetage par défaut, et une classe d'un paquetage nommé
+ * ne peut pas référencer celles du paquetage par défaut : chaque charge est donc exposée ici sous la
+ * forme d'un DoubleSupplier, obtenu une seule fois par réflexion lors de la préparation du benchmark.
+ * Le site d'appel reste monomorphe pendant une mesure, ce qui permet au JIT de l'inliner.
+ */
+public final class BenchmarkTargets {
+
+    private BenchmarkTargets() {
+    }
+
+    /**
+     * Empile puis dépile {@code depth} valeurs.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @param depth Le nombre de valeurs empilées.
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier stackPushThenPop(String implementation, int depth) {
+        Stack stack = createStack(implementation);
+        return () -> {
+            for (int i = 0; i < depth; i++) {
+                stack.push(i);
+            }
+            double sum = 0;
+            for (int i = 0; i < depth; i++) {
+                sum += stack.pop();
+            }
+            return sum;
+        };
+    }
+
+    /**
+     * Enchaîne push, peek et pop au sommet d'une pile contenant déjà depth valeurs.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @param depth Le nombre de valeurs laissées sous le sommet.
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier stackPushPeekPop(String implementation, int depth) {
+        Stack stack = createStack(implementation);
+        for (int i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        return () -> {
+            stack.push(1.5);
+            double top = stack.peek();
+            return top + stack.pop();
+        };
+    }
+
+    /**
+     * Entre deux valeurs, applique une opération de CalcImpl et retire le résultat de la pile.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @param operation Le symbole de l'opération : +, -, * ou /.
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier calcOperation(String implementation, String operation) {
+        Stack stack = createStack(implementation);
+        Calc calc = new CalcImpl(stack);
+        return () -> {
+            try {
+                calc.enterValue(3.0);
+                calc.enterValue(2.0);
+                switch (operation) {
+                    case "+" -> calc.add();
+                    case "-" -> calc.subtract();
+                    case "*" -> calc.multiply();
+                    case "/" -> calc.divide();
+                    default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+                }
+                return stack.pop();
+            } catch (NotEnoughOperandsOnStackException | DivideByZeroException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Entre une valeur puis l'additionne au sommet d'une calculatrice partagée par tous les threads
+     * du benchmark ; la taille de la pile reste ainsi stable.
+     *
+     * @param implementation "synchronized" pour CalcImpl sur StackImpl protégée par un verrou,
+     *                       "lock-free" pour ConcurrentCalc sur ConcurrentStack.
+     * @param depth Le nombre de valeurs présentes sur la pile au départ, au moins 1.
+     * @return La charge de travail, à appeler depuis plusieurs threads.
+     */
+    public static DoubleSupplier sharedCalcEnterAdd(String implementation, int depth) {
+        Calc calc = switch (implementation) {
+            case "synchronized" -> new CalcImpl(new StackImpl());
+            case "lock-free" -> new ConcurrentCalc(new ConcurrentStack());
+            default -> throw new IllegalArgumentException("Unknown calculator implementation: " + implementation);
+        };
+        for (int i = 0; i < depth; i++) {
+            calc.enterValue(1);
+        }
+        boolean locked = implementation.equals("synchronized");
+        return () -> {
+            try {
+                if (locked) {
+                    synchronized (calc) {
+                        calc.enterValue(1);
+                        calc.add();
+                    }
+                } else {
+                    calc.enterValue(1);
+                    calc.add();
+                }
+                return 1;
+            } catch (NotEnoughOperandsOnStackException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Analyse et évalue une expression de référence avec RPNParserImpl.parseAndDisplayResult.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @param shape La forme de l'expression (voir {@link #expression(String)}).
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier parse(String implementation, String shape) {
+        String expression = expression(shape);
+        Stack stack = createStack(implementation);
+        RPNParserImpl parser = new RPNParserImpl(new CalcImpl(stack));
+        return () -> {
+            try {
+                double result = parser.parseAndDisplayResult(expression);
+                stack.pop();
+                return result;
+            } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Évalue une expression de référence compilée une fois pour toutes.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @param shape La forme de l'expression (voir {@link #expression(String)}).
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier evaluateCompiled(String implementation, String shape) throws ParseException {
+        Stack stack = createStack(implementation);
+        Calc calc = new CalcImpl(stack);
+        RPNProgram program = new RPNParserImpl(calc).compile(expression(shape));
+        return () -> {
+            try {
+                double result = program.evaluate(calc);
+                stack.pop();
+                return result;
+            } catch (NotEnoughOperandsOnStackException | DivideByZeroException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Empile puis dépile {@code depth} valeurs dans une très grande pile, éventuellement hors du tas.
+     * La charge de travail est aussi un AutoCloseable, à fermer à la fin du benchmark.
+     *
+     * @param implementation "list", "array", "offheap" pour OffHeapStack en mémoire native,
+     *                       ou "mapped" pour OffHeapStack projetée sur un fichier temporaire.
+     * @param depth Le nombre de valeurs empilées.
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier largeStackFillThenDrain(String implementation, int depth) {
+        return new LargeStack(implementation, depth, false);
+    }
+
+    /**
+     * Force une collecte complète pendant qu'une très grande pile contient {@code depth} valeurs.
+     * La charge de travail est aussi un AutoCloseable, à fermer à la fin du benchmark.
+     *
+     * @param implementation "list", "array", "offheap" ou "mapped", comme pour largeStackFillThenDrain.
+     * @param depth Le nombre de valeurs présentes sur la pile.
+     * @return La charge de travail.
+     */
+    public static DoubleSupplier largeStackFullGc(String implementation, int depth) {
+        return new LargeStack(implementation, depth, true);
+    }
+
+    /**
+     * Crée la pile désignée par un paramètre de benchmark.
+     *
+     * @param implementation "list" pour StackImpl, "array" pour DoubleArrayStackImpl.
+     * @return Une pile vide.
+     */
+    static Stack createStack(String implementation) {
+        return switch (implementation) {
+            case "list" -> new StackImpl();
+            case "array" -> new DoubleArrayStackImpl();
+            default -> throw new IllegalArgumentException("Unknown stack implementation: " + implementation);
+        };
+    }
+
+    /**
+     * Retourne une expression de référence.
+     *
+     * @param shape "short" (3 tokens), "long" (201 tokens, pile de profondeur 2)
+     *              ou "nested" (201 tokens, pile de profondeur 101).
+     * @return L'expression RPN.
+     */
+    static String expression(String shape) {
+        return switch (shape) {
+            case "short" -> "3 5 +";
+            case "long" -> {
+                StringBuilder sb = new StringBuilder("1");
+                for (int i = 0; i < 100; i++) {
+                    sb.append(' ').append(i % 7 + 1).append(i % 2 == 0 ? " +" : " *");
+                }
+                yield sb.toString();
+            }
+            case "nested" -> {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i <= 100; i++) {
+                    sb.append(i % 9 + 1.5).append(' ');
+                }
+                for (int i = 0; i < 100; i++) {
+                    sb.append(i % 2 == 0 ? "+ " : "* ");
+                }
+                yield sb.toString().trim();
+            }
+            default -> throw new IllegalArgumentException("Unknown expression shape: " + shape);
+        };
+    }
+
+    /**
+     * Une très grande pile et son éventuel fichier de projection, libérés par close().
+     */
+    private static final class LargeStack implements DoubleSupplier, AutoCloseable {
+
+        private final Stack stack;
+        private final Path file;
+        private final int depth;
+        private final boolean fullGc;
+
+        LargeStack(String implementation, int depth, boolean fullGc) {
+            this.depth = depth;
+            this.fullGc = fullGc;
+            try {
+                file = implementation.equals("mapped") ? Files.createTempFile("rpn-stack", ".bin") : null;
+                stack = switch (implementation) {
+                    case "offheap" -> new OffHeapStack();
+                    case "mapped" -> new OffHeapStack(file, 1 << 20);
+                    default -> createStack(implementation);
+                };
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            if (fullGc) {
+                for (int i = 0; i < depth; i++) {
+                    stack.push(i);
+                }
+            }
+        }
+
+        @Override
+        public double getAsDouble() {
+            if (fullGc) {
+                System.gc();
+                return stack.getSize();
+            }
+            for (int i = 0; i < depth; i++) {
+                stack.push(i);
+            }
+            double sum = 0;
+            for (int i = 0; i < depth; i++) {
+                sum += stack.pop();
+            }
+            return sum;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (stack instanceof OffHeapStack offHeap) {
+                    offHeap.close();
+                }
+            } finally {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mesure le nombre d'octets alloués par expression lors de l'analyse lexicale,
+ * en comparant l'ancienne approche (trim, replaceAll, split) à RPNTokenizer,
+ * puis le coût complet de RPNParserImpl.parseAndDisplayResult sur une pile primitive.
+ * S'appuie sur com.sun.management.ThreadMXBean, disponible sur HotSpot.
+ */
+public class TokenizerAllocationBenchmark {
+
+    private static final String[] EXPRESSIONS = {
+            "3 5 +",
+            "3 5 2 * + 10 20 - /",
+            "  1.5   2.25 *   4 - 0.125 /  ",
+            "1 2 3 4 5 6 7 8 9 10 + + + + + + + + +",
+    };
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        DoubleArrayStackImpl stack = new DoubleArrayStackImpl();
+        RPNParserImpl parser = new RPNParserImpl(new CalcImpl(stack));
+        RPNTokenizer tokenizer = new RPNTokenizer();
+
+        double sink = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int iterations = pass == 0 ? WARMUP_ITERATIONS : MEASURED_ITERATIONS;
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                sink += legacyTokenCount(EXPRESSIONS[i & 3]);
+            }
+            long legacy = threads.getThreadAllocatedBytes(threadId) - before;
+
+            before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                sink += tokenizerSum(tokenizer, EXPRESSIONS[i & 3]);
+            }
+            long scanner = threads.getThreadAllocatedBytes(threadId) - before;
+
+            before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                sink += parser.parseAndDisplayResult(EXPRESSIONS[i & 3]);
+                stack.pop();
+            }
+            long parse = threads.getThreadAllocatedBytes(threadId) - before;
+
+            if (pass == 1) {
+                System.out.printf("legacy trim/replaceAll/split : %8.1f B/expr%n", (double) legacy / iterations);
+                System.out.printf("RPNTokenizer                 : %8.1f B/expr%n", (double) scanner / iterations);
+                System.out.printf("parseAndDisplayResult        : %8.1f B/expr%n", (double) parse / iterations);
+            }
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static int legacyTokenCount(String expression) {
+        String normalized = expression.trim().replaceAll("\\s+", " ");
+        return normalized.split(" ").length;
+    }
+
+    private static double tokenizerSum(RPNTokenizer tokenizer, String expression) {
+        tokenizer.reset(expression);
+        double sum = 0;
+        for (int type = tokenizer.next(); type != RPNTokenizer.END; type = tokenizer.next()) {
+            if (type == RPNTokenizer.NUMBER) {
+                sum += tokenizer.number();
+            }
+        }
+        return sum;
+    }
+}
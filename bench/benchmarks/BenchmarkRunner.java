@@ -0,0 +1,27 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lance les benchmarks JMH avec le profileur {@code gc}, qui rapporte les octets alloués par opération
+ * ({@code gc.alloc.rate.norm}). Les arguments éventuels sont des expressions régulières filtrant
+ * les benchmarks à exécuter, par exemple {@code RPNParserBenchmark}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        if (args.length == 0) {
+            builder.include("benchmarks\\.(Stack|Calc|RPNParser)Benchmark");
+        }
+        for (String include : args) {
+            builder.include(include);
+        }
+        builder.addProfiler(GCProfiler.class)
+                .jvmArgsAppend("--enable-preview", "--add-modules", "jdk.incubator.vector");
+        new Runner(builder.build()).run();
+    }
+}
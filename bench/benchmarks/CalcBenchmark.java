@@ -0,0 +1,46 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Mesure chaque opération de CalcImpl : deux entrées, l'opération, puis le retrait du résultat.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalcBenchmark {
+
+    @Param({"list", "array"})
+    public String implementation;
+
+    @Param({"+", "-", "*", "/"})
+    public String operation;
+
+    private DoubleSupplier workload;
+
+    @Setup
+    public void setUp() {
+        workload = Targets.get("calcOperation", implementation, operation);
+    }
+
+    @Benchmark
+    public double operation() {
+        return workload.getAsDouble();
+    }
+}
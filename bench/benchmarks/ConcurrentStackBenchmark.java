@@ -0,0 +1,88 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Mesure le débit d'une calculatrice partagée par 1 à 64 threads, en comparant CalcImpl sur
+ * StackImpl protégée par un verrou ("synchronized") à ConcurrentCalc sur ConcurrentStack ("lock-free").
+ * Chaque opération entre une valeur puis l'additionne au sommet. L'état est de portée Benchmark :
+ * tous les threads d'une mesure partagent la même calculatrice. Chaque méthode fixe un nombre
+ * de threads ; le débit rapporté est le total de tous les threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStackBenchmark {
+
+    @Param({"synchronized", "lock-free"})
+    public String implementation;
+
+    @Param({"1024"})
+    public int depth;
+
+    private DoubleSupplier workload;
+
+    @Setup
+    public void setUp() {
+        workload = Targets.get("sharedCalcEnterAdd", implementation, depth);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double threads01() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public double threads02() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double threads04() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public double threads08() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public double threads16() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public double threads32() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public double threads64() {
+        return workload.getAsDouble();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Compare le coût pour le ramasse-miettes d'une très grande pile selon son implémentation :
+ * StackImpl ("list"), DoubleArrayStackImpl ("array"), OffHeapStack en mémoire native ("offheap")
+ * et OffHeapStack projetée sur un fichier temporaire ("mapped").
+ * fillThenDrain empile puis dépile {@code depth} valeurs ; fullGc mesure une collecte complète forcée
+ * pendant que la pile en contient {@code depth}. Le nombre et la durée des collectes sont rapportés
+ * par le profileur {@code gc} de BenchmarkRunner.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class OffHeapStackBenchmark {
+
+    @Param({"list", "array", "offheap", "mapped"})
+    public String implementation;
+
+    @Param({"1000000", "10000000"})
+    public int depth;
+
+    private DoubleSupplier workload;
+
+    /**
+     * Ne prépare que la pile du benchmark mesuré, pour qu'une pile pleine destinée à fullGc
+     * ne pèse pas sur les collectes de fillThenDrain.
+     */
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        String target = params.getBenchmark().endsWith(".fullGc") ? "largeStackFullGc" : "largeStackFillThenDrain";
+        workload = Targets.get(target, implementation, depth);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ((AutoCloseable) workload).close();
+    }
+
+    @Benchmark
+    public double fillThenDrain() {
+        return workload.getAsDouble();
+    }
+
+    @Benchmark
+    public double fullGc() {
+        return workload.getAsDouble();
+    }
+}
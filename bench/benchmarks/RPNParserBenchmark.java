@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Mesure RPNParserImpl.parseAndDisplayResult et l'évaluation d'un RPNProgram compilé,
+ * sur des expressions courtes, longues et profondément imbriquées.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RPNParserBenchmark {
+
+    @Param({"short", "long", "nested"})
+    public String shape;
+
+    @Param({"list", "array"})
+    public String implementation;
+
+    private DoubleSupplier parse;
+    private DoubleSupplier evaluateCompiled;
+
+    @Setup
+    public void setUp() {
+        parse = Targets.get("parse", implementation, shape);
+        evaluateCompiled = Targets.get("evaluateCompiled", implementation, shape);
+    }
+
+    @Benchmark
+    public double parseAndDisplayResult() {
+        return parse.getAsDouble();
+    }
+
+    @Benchmark
+    public double evaluateCompiled() {
+        return evaluateCompiled.getAsDouble();
+    }
+}
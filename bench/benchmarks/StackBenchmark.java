@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Mesure push, pop et peek sur StackImpl ("list") et DoubleArrayStackImpl ("array").
+ * {@code depth} est le nombre de valeurs empilées puis dépilées par pushThenPop, et le nombre de
+ * valeurs laissées sous le sommet pour pushPeekPop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+
+    @Param({"list", "array"})
+    public String implementation;
+
+    @Param({"16", "1024"})
+    public int depth;
+
+    private DoubleSupplier pushThenPop;
+    private DoubleSupplier pushPeekPop;
+
+    @Setup
+    public void setUp() {
+        pushThenPop = Targets.get("stackPushThenPop", implementation, depth);
+        pushPeekPop = Targets.get("stackPushPeekPop", implementation, depth);
+    }
+
+    @Benchmark
+    public double pushThenPop() {
+        return pushThenPop.getAsDouble();
+    }
+
+    @Benchmark
+    public double pushPeekPop() {
+        return pushPeekPop.getAsDouble();
+    }
+}
@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Récupère par réflexion les charges de travail de BenchmarkTargets, qui vit dans le paquetage par défaut.
+ */
+final class Targets {
+
+    private Targets() {
+    }
+
+    /**
+     * Appelle une fabrique statique de BenchmarkTargets.
+     *
+     * @param factory Le nom de la méthode.
+     * @param arguments Ses arguments, de type String ou Integer.
+     * @return La charge de travail construite.
+     */
+    static DoubleSupplier get(String factory, Object... arguments) {
+        try {
+            for (Method method : Class.forName("BenchmarkTargets").getMethods()) {
+                if (method.getName().equals(factory) && method.getParameterCount() == arguments.length) {
+                    return (DoubleSupplier) method.invoke(null, arguments);
+                }
+            }
+            throw new IllegalArgumentException("Unknown benchmark target: " + factory);
+        } catch (ClassNotFoundException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
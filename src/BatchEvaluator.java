@@ -0,0 +1,158 @@
+import java.util.Arrays;
+
+/**
+ * Évalue un RPNProgram sur des lots de colonnes, une instruction à la fois sur un bloc entier de lignes.
+ * Chaque emplacement de la pile RPN est un tampon de BLOCK_SIZE valeurs ; une addition, par exemple,
+ * combine donc deux tampons en une seule boucle. Lorsque le module {@code jdk.incubator.vector} est
+ * chargé (option {@code --add-modules jdk.incubator.vector}), ces boucles utilisent DoubleVector et
+ * traitent autant de lignes par instruction que le processeur le permet ; sinon, un noyau scalaire
+ * équivalent est utilisé. La sémantique est celle de CalcImpl, y compris pour la division par zéro.
+ * Une instance ne conserve aucun état entre deux appels et peut être partagée entre threads.
+ */
+public final class BatchEvaluator {
+
+    /** Le nombre de lignes traitées par chaque instruction. */
+    public static final int BLOCK_SIZE = 1024;
+
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final boolean vectorized;
+
+    /**
+     * Construit un évaluateur utilisant l'API Vector si elle est disponible.
+     */
+    public BatchEvaluator() {
+        this(true);
+    }
+
+    /**
+     * Construit un évaluateur en choisissant explicitement le noyau.
+     *
+     * @param preferVector {@code true} pour utiliser l'API Vector lorsqu'elle est disponible,
+     *                     {@code false} pour forcer le noyau scalaire.
+     */
+    public BatchEvaluator(boolean preferVector) {
+        this.vectorized = preferVector && VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Indique si cet évaluateur utilise l'API Vector.
+     *
+     * @return {@code true} si les noyaux vectoriels sont utilisés.
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Évalue le programme sur chaque ligne des colonnes et retourne la colonne des résultats.
+     *
+     * @param program Le programme à évaluer.
+     * @param columns Une colonne par variable, toutes de même longueur.
+     * @return Le résultat de chaque ligne.
+     * @throws NotEnoughOperandsOnStackException Si le programme manque d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée sur une ligne.
+     * @throws IllegalArgumentException Si le programme n'a pas de variable ou si les colonnes ne correspondent pas.
+     */
+    public double[] evaluate(RPNProgram program, double[]... columns) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column is required to determine the row count");
+        }
+        double[] results = new double[columns[0].length];
+        evaluate(program, columns, results);
+        return results;
+    }
+
+    /**
+     * Évalue le programme sur chaque ligne des colonnes, avec le même contrat que
+     * {@link RPNProgram#evaluateColumns(double[][], double[])}. Si une exception est levée,
+     * le contenu de {@code results} est indéterminé.
+     *
+     * @param program Le programme à évaluer.
+     * @param columns Une colonne par variable, chacune d'au moins {@code results.length} valeurs.
+     * @param results Le tableau recevant les résultats ; sa longueur fixe le nombre de lignes.
+     * @throws NotEnoughOperandsOnStackException Si le programme manque d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée sur une ligne.
+     * @throws IllegalArgumentException Si le nombre ou la taille des colonnes ne convient pas.
+     */
+    public void evaluate(RPNProgram program, double[][] columns, double[] results) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        int rows = results.length;
+        program.checkColumns(columns, rows);
+        program.verify();
+        int maxDepth = program.getMaxDepth();
+        double[] constants = program.getConstantPool();
+
+        double[][] slots = new double[maxDepth][BLOCK_SIZE];
+        for (int offset = 0; offset < rows; offset += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, rows - offset);
+            int size = 0;
+            for (int i = 0; i < program.getInstructionCount(); i++) {
+                byte opCode = program.getOpCode(i);
+                switch (opCode) {
+                    case OpCode.PUSH_CONST -> Arrays.fill(slots[size++], 0, count, constants[program.getOperand(i)]);
+                    case OpCode.PUSH_VAR -> System.arraycopy(columns[program.getOperand(i)], offset, slots[size++], 0, count);
+                    case OpCode.MULTIPLY_ADD -> {
+                        size -= 2;
+                        if (vectorized) {
+                            VectorKernels.multiplyAdd(slots[size - 1], slots[size], slots[size + 1], count);
+                        } else {
+                            multiplyAddScalar(slots[size - 1], slots[size], slots[size + 1], count);
+                        }
+                    }
+                    default -> {
+                        size--;
+                        if (vectorized) {
+                            VectorKernels.apply(opCode, slots[size - 1], slots[size], count);
+                        } else {
+                            applyScalar(opCode, slots[size - 1], slots[size], count);
+                        }
+                    }
+                }
+            }
+            System.arraycopy(slots[size - 1], 0, results, offset, count);
+        }
+    }
+
+    /**
+     * Applique une opération binaire sur deux tampons : {@code left[i] = left[i] op right[i]}.
+     *
+     * @throws DivideByZeroException Si l'opération est une division et qu'un diviseur est nul.
+     */
+    private static void applyScalar(byte opCode, double[] left, double[] right, int count) throws DivideByZeroException {
+        switch (opCode) {
+            case OpCode.ADD -> {
+                for (int i = 0; i < count; i++) {
+                    left[i] += right[i];
+                }
+            }
+            case OpCode.SUBTRACT -> {
+                for (int i = 0; i < count; i++) {
+                    left[i] -= right[i];
+                }
+            }
+            case OpCode.MULTIPLY -> {
+                for (int i = 0; i < count; i++) {
+                    left[i] *= right[i];
+                }
+            }
+            case OpCode.DIVIDE -> {
+                for (int i = 0; i < count; i++) {
+                    if (right[i] == 0) {
+                        throw new DivideByZeroException();
+                    }
+                    left[i] /= right[i];
+                }
+            }
+            default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+        }
+    }
+
+    /**
+     * Applique une multiplication-addition sur trois tampons : {@code a[i] = fma(a[i], b[i], c[i])}.
+     */
+    private static void multiplyAddScalar(double[] a, double[] b, double[] c, int count) {
+        for (int i = 0; i < count; i++) {
+            a[i] = Math.fma(a[i], b[i], c[i]);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour BatchEvaluator.
+ * Ces tests comparent les noyaux vectoriel et scalaire à l'évaluation ligne par ligne
+ * de RPNProgram, sur des programmes compilés par RPNParserImpl.
+ */
+public class BatchEvaluatorIntegrationTest {
+
+    private RPNParser parser;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new RPNParserImpl(new CalcImpl(new StackImpl()));
+    }
+
+    /**
+     * Teste que les deux noyaux produisent exactement les résultats de l'évaluation ligne par ligne,
+     * sur un nombre de lignes qui n'est multiple ni d'un bloc ni d'un vecteur.
+     */
+    @Test
+    public void testMatchesRowByRowEvaluation() throws Exception {
+        RPNProgram program = parser.compile("x y * 2.5 + x y - / z -");
+        int rows = 3 * BatchEvaluator.BLOCK_SIZE + 7;
+        Random random = new Random(42);
+        double[][] columns = new double[3][rows];
+        for (double[] column : columns) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = random.nextDouble() * 200 - 100;
+            }
+        }
+        columns[1][5] = columns[0][5] + 1;
+
+        double[] expected = program.evaluateColumns(columns);
+        assertArrayEquals(expected, new BatchEvaluator(true).evaluate(program, columns));
+        assertArrayEquals(expected, new BatchEvaluator(false).evaluate(program, columns));
+    }
+
+    /**
+     * Teste la division par zéro, détectée sur n'importe quelle ligne, y compris -0.0.
+     */
+    @Test
+    public void testDivideByZero() throws Exception {
+        RPNProgram program = parser.compile("1 x /");
+        double[] column = new double[100];
+        Arrays.fill(column, 1);
+        column[97] = -0.0;
+        assertThrows(DivideByZeroException.class, () -> new BatchEvaluator(true).evaluate(program, column));
+        assertThrows(DivideByZeroException.class, () -> new BatchEvaluator(false).evaluate(program, column));
+    }
+
+    /**
+     * Teste le manque d'opérandes, signalé avant toute évaluation.
+     */
+    @Test
+    public void testNotEnoughOperands() throws Exception {
+        RPNProgram program = parser.compile("x + 1");
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> new BatchEvaluator().evaluate(program, new double[4]));
+    }
+}
@@ -0,0 +1,175 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Évalue un fichier contenant une expression RPN par ligne et écrit un résultat par ligne.
+ * Le fichier d'entrée est projeté en mémoire par fenêtres successives ({@link FileChannel#map}) et
+ * chaque ligne est analysée directement dans la projection, au travers d'une ByteSequence, sans
+ * créer de chaîne. Les résultats sont accumulés dans un grand tampon avant d'être écrits sur le canal
+ * de sortie. Une ligne invalide produit une ligne {@code ERROR <message>} sans interrompre le traitement,
+ * de sorte que la ligne n de la sortie correspond toujours à la ligne n de l'entrée.
+ * L'évaluation passe par RPNEvaluator : une ligne invalide ne lève aucune exception, et le message
+ * d'erreur est écrit directement depuis la projection. Les valeurs sont écrites par DoubleFormatter,
+ * sans passer par une chaîne.
+ * Chaque expression est évaluée sur une pile vidée au préalable.
+ */
+public class BatchFileEvaluator {
+
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_TOKEN_LENGTH_IN_MESSAGE = 240;
+    private static final byte[] ERROR_PREFIX = "ERROR ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_TOKEN_MESSAGE = "ERROR Invalid token: ".getBytes(StandardCharsets.US_ASCII);
+
+    private final RPNEvaluator evaluator;
+    private final EvaluationResult result = new EvaluationResult();
+    private final int windowSize;
+    private final ByteSequence line = new ByteSequence();
+    private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+    private final byte[] number = new byte[DoubleFormatter.MAX_LENGTH + 1];
+
+    /**
+     * Le bilan d'une évaluation de fichier.
+     *
+     * @param lines Le nombre de lignes évaluées.
+     * @param errors Le nombre de lignes ayant produit une erreur.
+     */
+    public record Summary(long lines, long errors) {
+    }
+
+    /**
+     * Construit un évaluateur utilisant la pile fournie.
+     *
+     * @param stack La pile sur laquelle évaluer chaque ligne.
+     */
+    public BatchFileEvaluator(Stack stack) {
+        this(stack, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Construit un évaluateur avec une taille de fenêtre de projection donnée.
+     *
+     * @param stack La pile sur laquelle évaluer chaque ligne.
+     * @param windowSize La taille maximale, en octets, de chaque projection ; une ligne ne peut pas la dépasser.
+     */
+    BatchFileEvaluator(Stack stack, int windowSize) {
+        this.evaluator = new RPNEvaluator(stack);
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Évalue chaque ligne du fichier d'entrée et écrit les résultats dans le fichier de sortie.
+     *
+     * @param input Le fichier d'expressions.
+     * @param outputFile Le fichier de résultats, créé ou remplacé.
+     * @return Le bilan de l'évaluation.
+     * @throws IOException En cas d'erreur de lecture ou d'écriture.
+     */
+    public Summary evaluate(Path input, Path outputFile) throws IOException {
+        try (FileChannel out = FileChannel.open(outputFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return evaluate(input, out);
+        }
+    }
+
+    /**
+     * Évalue chaque ligne du fichier d'entrée et écrit les résultats sur le canal fourni.
+     *
+     * @param input Le fichier d'expressions.
+     * @param out Le canal recevant les résultats ; il n'est pas fermé.
+     * @return Le bilan de l'évaluation.
+     * @throws IOException En cas d'erreur de lecture ou d'écriture, ou si une ligne dépasse la fenêtre.
+     */
+    public Summary evaluate(Path input, WritableByteChannel out) throws IOException {
+        long lines = 0;
+        long errors = 0;
+        output.clear();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long fileSize = in.size();
+            long windowStart = 0;
+            while (windowStart < fileSize) {
+                int mapped = (int) Math.min(windowSize, fileSize - windowStart);
+                boolean lastWindow = windowStart + mapped == fileSize;
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, windowStart, mapped);
+
+                int lineStart = 0;
+                for (int i = 0; i < mapped; i++) {
+                    if (window.get(i) == '\n') {
+                        errors += evaluateLine(window, lineStart, i, out);
+                        lines++;
+                        lineStart = i + 1;
+                    }
+                }
+                if (lastWindow && lineStart < mapped) {
+                    errors += evaluateLine(window, lineStart, mapped, out);
+                    lines++;
+                    lineStart = mapped;
+                }
+                if (lineStart == 0 && !lastWindow) {
+                    throw new IOException("Line at offset " + windowStart + " is longer than " + windowSize + " bytes");
+                }
+                windowStart += lineStart;
+            }
+        }
+        flush(out);
+        return new Summary(lines, errors);
+    }
+
+    /**
+     * Évalue la ligne [start, end) de la fenêtre et écrit son résultat.
+     *
+     * @return 1 si la ligne a produit une erreur, sinon 0.
+     */
+    private int evaluateLine(ByteBuffer window, int start, int end, WritableByteChannel out) throws IOException {
+        ByteSequence expression = line.set(window, start, end);
+        if (evaluator.evaluate(expression, result) == EvaluationResult.OK) {
+            int length = DoubleFormatter.format(result.getValue(), number, 0);
+            number[length++] = '\n';
+            ensureCapacity(length, out);
+            output.put(number, 0, length);
+            return 0;
+        }
+        if (result.getStatus() == EvaluationResult.PARSE_ERROR && result.getErrorEnd() > result.getErrorStart()) {
+            int tokenLength = Math.min(result.getErrorEnd() - result.getErrorStart(), MAX_TOKEN_LENGTH_IN_MESSAGE);
+            ensureCapacity(INVALID_TOKEN_MESSAGE.length + tokenLength + 1, out);
+            output.put(INVALID_TOKEN_MESSAGE);
+            output.put(output.position(), window, start + result.getErrorStart(), tokenLength);
+            output.position(output.position() + tokenLength);
+            output.put((byte) '\n');
+        } else {
+            ensureCapacity(ERROR_PREFIX.length, out);
+            output.put(ERROR_PREFIX);
+            writeAscii(result.getMessage(expression), out);
+        }
+        return 1;
+    }
+
+    private void writeAscii(String text, WritableByteChannel out) throws IOException {
+        ensureCapacity(text.length() + 1, out);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            output.put(c < 0x80 ? (byte) c : (byte) '?');
+        }
+        output.put((byte) '\n');
+    }
+
+    private void ensureCapacity(int bytes, WritableByteChannel out) throws IOException {
+        if (output.remaining() < bytes) {
+            flush(out);
+        }
+    }
+
+    private void flush(WritableByteChannel out) throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            out.write(output);
+        }
+        output.clear();
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour BatchFileEvaluator.
+ * Ces tests évaluent de vrais fichiers, y compris avec une fenêtre de projection réduite
+ * pour vérifier les lignes à cheval sur deux fenêtres.
+ */
+public class BatchFileEvaluatorIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Teste qu'une erreur sur une ligne n'interrompt pas le traitement et reste alignée avec l'entrée.
+     */
+    @Test
+    public void testResultsAndErrorsPerLine() throws IOException {
+        Path input = Files.writeString(directory.resolve("in.rpn"), "3 5 +\n5 0 /\r\n5 a +\n+\n10 20 /");
+        Path output = directory.resolve("out.txt");
+
+        BatchFileEvaluator.Summary summary = new BatchFileEvaluator(new DoubleArrayStackImpl()).evaluate(input, output);
+
+        assertEquals(5, summary.lines());
+        assertEquals(3, summary.errors());
+        assertEquals(List.of("8.0", "ERROR Cannot divide by zero.", "ERROR Invalid token: a",
+                "ERROR Not enough operands on stack for the operation.", "0.5"), Files.readAllLines(output));
+    }
+
+    /**
+     * Teste que chaque ligne est évaluée sur une pile vide.
+     */
+    @Test
+    public void testLinesAreIndependent() throws IOException {
+        Path input = Files.writeString(directory.resolve("in.rpn"), "1 2\n+\n");
+        Path output = directory.resolve("out.txt");
+
+        new BatchFileEvaluator(new StackImpl()).evaluate(input, output);
+
+        assertEquals(List.of("2.0", "ERROR Not enough operands on stack for the operation."), Files.readAllLines(output));
+    }
+
+    /**
+     * Teste des lignes à cheval sur plusieurs fenêtres de projection.
+     */
+    @Test
+    public void testSmallWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append(i).append(' ').append(i).append(" +\n");
+        }
+        Path input = Files.writeString(directory.resolve("in.rpn"), content);
+        Path output = directory.resolve("out.txt");
+
+        BatchFileEvaluator.Summary summary = new BatchFileEvaluator(new DoubleArrayStackImpl(), 16).evaluate(input, output);
+
+        assertEquals(500, summary.lines());
+        List<String> results = Files.readAllLines(output);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(Double.toString(2.0 * i), results.get(i));
+        }
+    }
+
+    /**
+     * Teste le rejet d'une ligne plus longue que la fenêtre de projection.
+     */
+    @Test
+    public void testLineLongerThanWindow() throws IOException {
+        Path input = Files.writeString(directory.resolve("in.rpn"), "1 2 3 4 5 6 7 8 9 + + + + + + + +\n");
+        assertThrows(IOException.class, () -> new BatchFileEvaluator(new DoubleArrayStackImpl(), 8).evaluate(input, directory.resolve("out.txt")));
+    }
+}
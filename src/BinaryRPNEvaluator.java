@@ -0,0 +1,159 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Évalue les trames produites par RPNBinaryCodec directement dans leur ByteBuffer, tas ou direct :
+ * les instructions sont lues par accès absolus, sans copie ni RPNProgram intermédiaire, et les
+ * constantes sont lues telles quelles en IEEE-754, sans aucune conversion de texte.
+ * Comme RPNEvaluator, l'évaluateur ne lève pas d'exception pour une trame invalide : l'erreur est
+ * rapportée dans un EvaluationResult réutilisable, sa plage désignant les octets fautifs du tampon.
+ * Les opérations suivent la sémantique de CalcImpl, sur une pile vide au début de chaque trame.
+ * Une instance n'est pas thread-safe.
+ */
+public class BinaryRPNEvaluator {
+
+    private double[] stack = new double[16];
+
+    /**
+     * Évalue la trame à la position courante du tampon. Si la trame est complète, la position
+     * est avancée jusqu'à sa fin, y compris en cas d'erreur d'évaluation, afin que la trame
+     * suivante puisse être lue ; une trame tronquée laisse la position inchangée.
+     * Une longueur de trame impossible laisse aussi la position inchangée, l'erreur désignant alors
+     * le seul préfixe de longueur : {@link RPNBinaryCodec#frameSize(ByteBuffer)} la distingue d'une
+     * trame tronquée.
+     *
+     * @param frame Le tampon, en big-endian, positionné au début d'une trame.
+     * @param variables Les valeurs des variables, dans l'ordre des noms de la trame.
+     * @param result Reçoit le statut, la valeur ou la plage de l'erreur.
+     * @return Le statut de l'évaluation (voir EvaluationResult) : PARSE_ERROR pour une trame tronquée,
+     *         mal formée ou déclarant deux fois le même nom de variable, NOT_ENOUGH_OPERANDS aussi
+     *         lorsque la trame ne laisse aucune valeur sur la pile.
+     * @throws IllegalArgumentException Si le tampon est en little-endian, ou si le nombre de valeurs
+     *                                  ne correspond pas au nombre de variables de la trame.
+     */
+    public int evaluate(ByteBuffer frame, double[] variables, EvaluationResult result) {
+        RPNBinaryCodec.checkOrder(frame);
+        int start = frame.position();
+        int end = RPNBinaryCodec.frameEnd(frame);
+        if (end == RPNBinaryCodec.INVALID_LENGTH) {
+            return result.failure(EvaluationResult.PARSE_ERROR, start, start + RPNBinaryCodec.LENGTH_PREFIX_BYTES);
+        }
+        if (end < 0) {
+            return result.failure(EvaluationResult.PARSE_ERROR, start, frame.limit());
+        }
+        int status = run(frame, start, end, variables, result);
+        frame.position(end);
+        return status;
+    }
+
+    /**
+     * Exécute les instructions d'une trame complète.
+     */
+    private int run(ByteBuffer frame, int start, int end, double[] variables, EvaluationResult result) {
+        int index = start + RPNBinaryCodec.LENGTH_PREFIX_BYTES;
+        int variableCount = frame.getShort(index) & 0xFFFF;
+        if (variables.length != variableCount) {
+            throw new IllegalArgumentException("Expected " + variableCount + " variable values, got " + variables.length);
+        }
+        index += Short.BYTES;
+        int names = index;
+        for (int v = 0; v < variableCount; v++) {
+            if (index + Short.BYTES > end) {
+                return result.failure(EvaluationResult.PARSE_ERROR, index, end);
+            }
+            int length = frame.getShort(index) & 0xFFFF;
+            if (index + Short.BYTES + length > end) {
+                return result.failure(EvaluationResult.PARSE_ERROR, start, end);
+            }
+            if (isDeclared(frame, names, index)) {
+                return result.failure(EvaluationResult.PARSE_ERROR, index, index + Short.BYTES + length);
+            }
+            index += Short.BYTES + length;
+        }
+
+        double[] stack = this.stack;
+        int size = 0;
+        while (index < end) {
+            byte opCode = frame.get(index);
+            int next = index + 1;
+            if (opCode == OpCode.PUSH_CONST || opCode == OpCode.PUSH_VAR) {
+                double value;
+                if (opCode == OpCode.PUSH_CONST) {
+                    next += Double.BYTES;
+                    if (next > end) {
+                        return result.failure(EvaluationResult.PARSE_ERROR, index, end);
+                    }
+                    value = frame.getDouble(index + 1);
+                } else {
+                    next += Short.BYTES;
+                    int variable = next <= end ? frame.getShort(index + 1) & 0xFFFF : -1;
+                    if (variable < 0 || variable >= variableCount) {
+                        return result.failure(EvaluationResult.PARSE_ERROR, index, Math.min(next, end));
+                    }
+                    value = variables[variable];
+                }
+                if (size == stack.length) {
+                    stack = this.stack = Arrays.copyOf(stack, size << 1);
+                }
+                stack[size++] = value;
+            } else {
+                int operandCount = switch (opCode) {
+                    case OpCode.ADD, OpCode.SUBTRACT, OpCode.MULTIPLY, OpCode.DIVIDE -> 2;
+                    case OpCode.MULTIPLY_ADD -> 3;
+                    default -> -1;
+                };
+                if (operandCount < 0) {
+                    return result.failure(EvaluationResult.PARSE_ERROR, index, next);
+                }
+                if (size < operandCount) {
+                    return result.failure(EvaluationResult.NOT_ENOUGH_OPERANDS, index, next);
+                }
+                size--;
+                switch (opCode) {
+                    case OpCode.ADD -> stack[size - 1] += stack[size];
+                    case OpCode.SUBTRACT -> stack[size - 1] -= stack[size];
+                    case OpCode.MULTIPLY -> stack[size - 1] *= stack[size];
+                    case OpCode.DIVIDE -> {
+                        if (stack[size] == 0) {
+                            return result.failure(EvaluationResult.DIVIDE_BY_ZERO, index, next);
+                        }
+                        stack[size - 1] /= stack[size];
+                    }
+                    default -> {
+                        size--;
+                        stack[size - 1] = Math.fma(stack[size - 1], stack[size], stack[size + 1]);
+                    }
+                }
+            }
+            index = next;
+        }
+        if (size == 0) {
+            return result.failure(EvaluationResult.NOT_ENOUGH_OPERANDS, end, end);
+        }
+        return result.success(stack[size - 1]);
+    }
+
+    /**
+     * Indique si le nom de variable situé à {@code name} figure déjà parmi ceux qui le précèdent,
+     * à partir de {@code first}. Les noms sont comparés octet par octet, sans être décodés.
+     */
+    private static boolean isDeclared(ByteBuffer frame, int first, int name) {
+        int length = frame.getShort(name) & 0xFFFF;
+        for (int other = first; other < name; other += Short.BYTES + (frame.getShort(other) & 0xFFFF)) {
+            if ((frame.getShort(other) & 0xFFFF) == length
+                    && sameBytes(frame, other + Short.BYTES, name + Short.BYTES, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameBytes(ByteBuffer frame, int first, int second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (frame.get(first + i) != frame.get(second + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Une vue CharSequence réutilisable sur une plage d'octets d'un ByteBuffer.
+ * Chaque octet est interprété comme un caractère ISO-8859-1, ce qui suffit aux expressions RPN
+ * (ASCII) ; les autres caractères ne forment de toute façon pas de token valide.
+ * Repositionner la vue avec {@link #set(ByteBuffer, int, int)} ne crée aucun objet, ce qui permet
+ * d'analyser les lignes d'un fichier projeté en mémoire sans créer de chaîne par ligne.
+ */
+public final class ByteSequence implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int start;
+    private int length;
+
+    /**
+     * Positionne la vue sur les octets [start, end) du tampon, en lecture absolue.
+     *
+     * @param buffer Le tampon contenant les octets.
+     * @param start L'indice du premier octet.
+     * @param end L'indice suivant le dernier octet.
+     * @return Cette vue.
+     */
+    public ByteSequence set(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.length = end - start;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    /**
+     * Retourne une copie de la sous-séquence demandée, sous forme de chaîne.
+     */
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") outside [0, " + length + ")");
+        }
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) (buffer.get(start + i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Retourne une copie du contenu de la vue.
+     */
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
@@ -0,0 +1,212 @@
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Un RPNParser qui met en cache le résultat des expressions déjà évaluées.
+ * La clé est l'expression normalisée (espaces de début et de fin supprimés, suites d'espaces
+ * réduites à un seul), de sorte que "3 5 +" et "  3   5 + " partagent la même entrée.
+ * Le cache est borné et évince l'entrée la moins récemment utilisée (LRU). Les erreurs
+ * (ParseException, NotEnoughOperandsOnStackException, DivideByZeroException) sont elles aussi
+ * mises en cache et relevées sous la forme d'une nouvelle exception du même type ; la position
+ * d'une ParseException se rapporte alors à l'expression normalisée.
+ * Les expressions absentes du cache sont évaluées sur une CalcPipeline empruntée à un pool, dont
+ * la pile est vidée avant chaque évaluation : un résultat ne dépend ainsi que de son expression.
+ * Cette classe peut être utilisée par plusieurs threads. Les évaluations manquées s'exécutent en
+ * parallèle, chacune sur sa propre chaîne ; une même expression manquée simultanément par deux
+ * threads est alors évaluée deux fois. La lecture et la mise à jour de l'ordre LRU se font sous
+ * un unique verrou, tenu le temps d'un accès à la table et jamais pendant une évaluation.
+ */
+public class CachingRPNParser implements RPNParser {
+
+    private final CalcPipelinePool pipelines;
+    private final int maximumSize;
+    private final Map<String, Outcome> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Le résultat mis en cache d'une expression : une valeur ou une erreur.
+     */
+    private record Outcome(double value, Exception error) {
+    }
+
+    /**
+     * Construit un cache évaluant les expressions sur une DoubleArrayStackImpl.
+     *
+     * @param maximumSize Le nombre maximal d'expressions conservées.
+     */
+    public CachingRPNParser(int maximumSize) {
+        this(DoubleArrayStackImpl::new, maximumSize);
+    }
+
+    /**
+     * Construit un cache évaluant les expressions sur des piles d'un type choisi.
+     *
+     * @param stackFactory Crée la pile de chaque chaîne d'évaluation, au plus une par thread évaluant
+     *                     simultanément une expression manquée.
+     * @param maximumSize Le nombre maximal d'expressions conservées.
+     * @throws IllegalArgumentException Si la taille maximale est négative ou nulle.
+     */
+    public CachingRPNParser(Supplier<? extends Stack> stackFactory, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.pipelines = new CalcPipelinePool(Runtime.getRuntime().availableProcessors(), stackFactory);
+        this.maximumSize = maximumSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+                return size() > CachingRPNParser.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Retourne le résultat de l'expression, depuis le cache si elle a déjà été évaluée.
+     *
+     * @param toParse La chaîne en notation RPN à analyser.
+     * @return Le résultat de l'évaluation de l'expression RPN.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si la chaîne contient des tokens non valides.
+     */
+    @Override
+    public double parseAndDisplayResult(String toParse) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        String key = normalize(toParse);
+        Outcome outcome;
+        synchronized (cache) {
+            outcome = cache.get(key);
+        }
+        if (outcome != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            outcome = evaluate(key);
+            synchronized (cache) {
+                cache.put(key, outcome);
+            }
+        }
+        return unwrap(outcome);
+    }
+
+    /**
+     * Compile l'expression sur une chaîne empruntée ; les programmes ne sont pas mis en cache.
+     *
+     * @param toParse La chaîne en notation RPN à compiler.
+     * @return Le programme compilé.
+     * @throws ParseException Si la chaîne contient des tokens non valides.
+     */
+    @Override
+    public RPNProgram compile(String toParse) throws ParseException {
+        try (CalcPipeline pipeline = pipelines.acquire()) {
+            return pipeline.getParser().compile(toParse);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'appels servis par le cache.
+     *
+     * @return Le nombre de succès du cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Retourne le nombre d'appels ayant nécessité une évaluation.
+     *
+     * @return Le nombre d'échecs du cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Retourne le nombre d'expressions actuellement en cache.
+     *
+     * @return La taille du cache.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Vide le cache ; les compteurs sont conservés.
+     */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Normalise une expression : supprime les espaces de début et de fin et réduit chaque suite
+     * d'espaces à un seul caractère ' '. Retourne la chaîne d'origine si elle est déjà normalisée.
+     *
+     * @param expression L'expression à normaliser.
+     * @return L'expression normalisée.
+     */
+    static String normalize(String expression) {
+        int length = expression.length();
+        boolean normalized = true;
+        boolean previousSpace = true;
+        for (int i = 0; i < length && normalized; i++) {
+            char c = expression.charAt(i);
+            boolean space = RPNTokenizer.isWhitespace(c);
+            normalized = !(space && (previousSpace || c != ' ' || i == length - 1));
+            previousSpace = space;
+        }
+        if (normalized) {
+            return expression;
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = expression.charAt(i);
+            if (RPNTokenizer.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Évalue une expression absente du cache sur une chaîne empruntée, dont la pile est vidée.
+     */
+    private Outcome evaluate(String expression) {
+        try (CalcPipeline pipeline = pipelines.acquire()) {
+            return new Outcome(pipeline.evaluate(expression), null);
+        } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+            return new Outcome(Double.NaN, e);
+        }
+    }
+
+    /**
+     * Retourne la valeur d'un résultat, ou relève une copie de son erreur.
+     */
+    private static double unwrap(Outcome outcome) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        Exception error = outcome.error();
+        if (error == null) {
+            return outcome.value();
+        }
+        if (error instanceof ParseException parseException) {
+            throw new ParseException(parseException.getMessage(), parseException.getErrorOffset());
+        }
+        if (error instanceof DivideByZeroException) {
+            throw new DivideByZeroException();
+        }
+        throw new NotEnoughOperandsOnStackException(((NotEnoughOperandsOnStackException) error).getPosition());
+    }
+}
@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour CachingRPNParser.
+ * Ces tests vérifient la normalisation des clés, l'éviction LRU, la mise en cache des erreurs
+ * et l'utilisation concurrente du cache.
+ */
+public class CachingRPNParserIntegrationTest {
+
+    private CachingRPNParser parser;
+
+    /**
+     * Configure un cache de trois entrées avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new CachingRPNParser(3);
+    }
+
+    /**
+     * Teste que les expressions ne différant que par leurs espaces partagent la même entrée.
+     */
+    @Test
+    public void testWhitespaceInsensitiveKey() throws Exception {
+        assertEquals(8.0, parser.parseAndDisplayResult("3 5 +"));
+        assertEquals(8.0, parser.parseAndDisplayResult("  3\t 5  +  "));
+        assertEquals(1, parser.getMissCount());
+        assertEquals(1, parser.getHitCount());
+        assertEquals(1, parser.size());
+    }
+
+    /**
+     * Teste la normalisation des expressions.
+     */
+    @Test
+    public void testNormalize() {
+        String normalized = "3 5 +";
+        assertSame(normalized, CachingRPNParser.normalize(normalized));
+        assertEquals("3 5 +", CachingRPNParser.normalize(" 3\n5   + "));
+        assertEquals("", CachingRPNParser.normalize("   "));
+    }
+
+    /**
+     * Teste que l'entrée la moins récemment utilisée est évincée.
+     */
+    @Test
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        parser.parseAndDisplayResult("1");
+        parser.parseAndDisplayResult("2");
+        parser.parseAndDisplayResult("3");
+        parser.parseAndDisplayResult("1");
+        parser.parseAndDisplayResult("4");
+        assertEquals(3, parser.size());
+        assertEquals(4, parser.getMissCount());
+
+        parser.parseAndDisplayResult("1");
+        assertEquals(4, parser.getMissCount());
+        parser.parseAndDisplayResult("2");
+        assertEquals(5, parser.getMissCount());
+    }
+
+    /**
+     * Teste que les erreurs sont mises en cache et relevées à chaque appel avec le bon type.
+     */
+    @Test
+    public void testCachedErrors() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DivideByZeroException.class, () -> parser.parseAndDisplayResult("5 0 /"));
+            assertThrows(NotEnoughOperandsOnStackException.class, () -> parser.parseAndDisplayResult("5 +"));
+            ParseException e = assertThrows(ParseException.class, () -> parser.parseAndDisplayResult("5 a +"));
+            assertEquals(2, e.getErrorOffset());
+        }
+        assertEquals(3, parser.getMissCount());
+        assertEquals(3, parser.getHitCount());
+    }
+
+    /**
+     * Teste que chaque expression est évaluée indépendamment des précédentes.
+     */
+    @Test
+    public void testExpressionsAreIndependent() throws Exception {
+        assertEquals(2.0, parser.parseAndDisplayResult("1 2"));
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> parser.parseAndDisplayResult("+"));
+    }
+
+    /**
+     * Teste que les piles créées par la fabrique sont réutilisées d'une évaluation manquée à l'autre,
+     * et vidées avant chacune.
+     */
+    @Test
+    public void testStackFactory() throws Exception {
+        AtomicInteger stacks = new AtomicInteger();
+        CachingRPNParser listParser = new CachingRPNParser(() -> {
+            stacks.incrementAndGet();
+            return new StackImpl();
+        }, 4);
+        assertEquals(2.0, listParser.parseAndDisplayResult("1 2"));
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> listParser.parseAndDisplayResult("3 +"));
+        assertEquals(1, stacks.get());
+        assertThrows(IllegalArgumentException.class, () -> new CachingRPNParser(StackImpl::new, 0));
+    }
+
+    /**
+     * Teste l'utilisation du cache depuis plusieurs threads.
+     */
+    @Test
+    public void testConcurrentUse() throws Exception {
+        CachingRPNParser shared = new CachingRPNParser(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int operand = i % 32;
+                futures.add(executor.submit(() -> shared.parseAndDisplayResult(operand + " 2 *")));
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(2.0 * (i % 32), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1000, shared.getHitCount() + shared.getMissCount());
+        assertTrue(shared.size() <= 16);
+    }
+}
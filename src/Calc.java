@@ -25,10 +25,56 @@ public interface Calc {
      * @throws DivideByZeroException
      */
     void divide() throws NotEnoughOperandsOnStackException, DivideByZeroException;
+    /**
+     * replaces the three last values a, b, c with a * b + c; the default implementation
+     * calls multiply then add, with two roundings, and may leave the product on the stack
+     * if there are only two values; implementations with direct stack access should
+     * override it to check the operands first and use Math.fma, with a single rounding
+     * @throws NotEnoughOperandsOnStackException
+     */
+    default void multiplyAdd() throws NotEnoughOperandsOnStackException {
+        multiply();
+        add();
+    }
     /**
      * displays the last value on top of the stack
      * @return the last value
      * @throws NotEnoughOperandsOnStackException
      */
     double displayValueOnTop() throws NotEnoughOperandsOnStackException;
-}
\ No newline at end of file
+    /**
+     * executes a whole sequence of operations in one call, with the same effect as calling
+     * the matching methods one by one; each OpCode.PUSH_CONST pushes the next value of operands
+     * @param opCodes the operations, see OpCode
+     * @param operands the pushed values, in order
+     * @throws NotEnoughOperandsOnStackException
+     * @throws DivideByZeroException
+     * @throws IllegalArgumentException if an opcode is not a push or an arithmetic operation
+     */
+    default void execute(byte[] opCodes, double[] operands) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        execute(opCodes, operands, opCodes.length);
+    }
+    /**
+     * executes the first count operations of opCodes, see execute(byte[], double[])
+     * @param opCodes the operations, see OpCode
+     * @param operands the pushed values, in order
+     * @param count the number of operations to execute
+     * @throws NotEnoughOperandsOnStackException
+     * @throws DivideByZeroException
+     * @throws IllegalArgumentException if an opcode is not a push or an arithmetic operation
+     */
+    default void execute(byte[] opCodes, double[] operands, int count) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        int operand = 0;
+        for (int i = 0; i < count; i++) {
+            switch (opCodes[i]) {
+                case OpCode.PUSH_CONST -> enterValue(operands[operand++]);
+                case OpCode.ADD -> add();
+                case OpCode.SUBTRACT -> subtract();
+                case OpCode.MULTIPLY -> multiply();
+                case OpCode.DIVIDE -> divide();
+                case OpCode.MULTIPLY_ADD -> multiplyAdd();
+                default -> throw new IllegalArgumentException("Unsupported opcode: " + opCodes[i]);
+            }
+        }
+    }
+}
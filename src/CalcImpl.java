@@ -7,6 +7,7 @@
 public class CalcImpl implements Calc {
 
     private Stack stack;
+    private double[] buffer = new double[16];
 
     /**
      * Constructeur pour CalcImpl.
@@ -91,6 +92,23 @@ public class CalcImpl implements Calc {
         stack.push(value2 / value1);
     }
 
+    /**
+     * Remplace les trois dernières valeurs a, b et c de la pile par a * b + c,
+     * calculé par Math.fma avec un seul arrondi.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void multiplyAdd() throws NotEnoughOperandsOnStackException {
+        if (stack.getSize() < 3) {
+            throw new NotEnoughOperandsOnStackException();
+        }
+        double value1 = stack.pop();
+        double value2 = stack.pop();
+        double value3 = stack.pop();
+        stack.push(Math.fma(value3, value2, value1));
+    }
+
     /**
      * Renvoie la valeur actuellement au sommet de la pile.
      *
@@ -104,4 +122,88 @@ public class CalcImpl implements Calc {
         }
         return stack.peek();
     }
+
+    /**
+     * Exécute une suite d'opérations en un seul appel, avec le même effet que les appels individuels.
+     * Une première passe calcule combien de valeurs déjà présentes la suite consomme et la profondeur
+     * qu'elle atteint ; ces valeurs sont retirées de la pile par un unique popN, les opérations
+     * s'exécutent dans une boucle sur un tableau local, et le résultat est rendu à la pile par un
+     * unique pushAll. Si la pile n'a pas assez de valeurs, ou si la suite contient un code non pris
+     * en charge, les opérations sont exécutées une à une afin que l'exception survienne au même point.
+     *
+     * @param opCodes Les codes d'opération (voir OpCode).
+     * @param operands Les valeurs empilées par les PUSH_CONST, dans l'ordre.
+     * @param count Le nombre d'opérations à exécuter.
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     * @throws DivideByZeroException Si une tentative de division par zéro est détectée.
+     * @throws IllegalArgumentException Si un code n'est ni un ajout ni une opération arithmétique.
+     */
+    @Override
+    public void execute(byte[] opCodes, double[] operands, int count) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        int depth = 0;
+        int lowest = 0;
+        int highest = 0;
+        int pushes = 0;
+        for (int i = 0; i < count; i++) {
+            int operandCount = switch (opCodes[i]) {
+                case OpCode.PUSH_CONST -> 0;
+                case OpCode.ADD, OpCode.SUBTRACT, OpCode.MULTIPLY, OpCode.DIVIDE -> 2;
+                case OpCode.MULTIPLY_ADD -> 3;
+                default -> -1;
+            };
+            if (operandCount < 0) {
+                Calc.super.execute(opCodes, operands, count);
+                return;
+            }
+            pushes += operandCount == 0 ? 1 : 0;
+            depth -= operandCount;
+            lowest = Math.min(lowest, depth);
+            depth++;
+            highest = Math.max(highest, depth);
+        }
+        int needed = -lowest;
+        if (stack.getSize() < needed || pushes > operands.length) {
+            Calc.super.execute(opCodes, operands, count);
+            return;
+        }
+
+        if (buffer.length < needed + highest) {
+            buffer = new double[Math.max(needed + highest, buffer.length << 1)];
+        }
+        double[] values = buffer;
+        stack.popN(values, 0, needed);
+        int size = needed;
+        int operand = 0;
+        for (int i = 0; i < count; i++) {
+            switch (opCodes[i]) {
+                case OpCode.PUSH_CONST -> values[size++] = operands[operand++];
+                case OpCode.ADD -> {
+                    size--;
+                    values[size - 1] += values[size];
+                }
+                case OpCode.SUBTRACT -> {
+                    size--;
+                    values[size - 1] -= values[size];
+                }
+                case OpCode.MULTIPLY -> {
+                    size--;
+                    values[size - 1] *= values[size];
+                }
+                case OpCode.DIVIDE -> {
+                    size--;
+                    if (values[size] == 0) {
+                        // Comme divide(), les deux opérandes sont retirés avant que l'exception ne soit levée.
+                        stack.pushAll(values, 0, size - 1);
+                        throw new DivideByZeroException();
+                    }
+                    values[size - 1] /= values[size];
+                }
+                default -> {
+                    size -= 2;
+                    values[size - 1] = Math.fma(values[size - 1], values[size], values[size + 1]);
+                }
+            }
+        }
+        stack.pushAll(values, 0, size);
+    }
 }
@@ -92,6 +92,63 @@ public class CalcIntegrationTest {
         assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.add());
     }
 
+    /**
+     * Teste la multiplication-addition, calculée avec un seul arrondi.
+     */
+    @Test
+    public void testMultiplyAdd() throws NotEnoughOperandsOnStackException {
+        calculator.enterValue(0.1);
+        calculator.enterValue(10.0);
+        calculator.enterValue(-1.0);
+        calculator.multiplyAdd();
+        assertEquals(Math.fma(0.1, 10.0, -1.0), calculator.displayValueOnTop());
+        assertNotEquals(0.1 * 10.0 - 1.0, calculator.displayValueOnTop());
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.multiplyAdd());
+    }
+
+    /**
+     * Teste l'implémentation par défaut de multiplyAdd, qui enchaîne multiply et add.
+     */
+    @Test
+    public void testDefaultMultiplyAdd() throws NotEnoughOperandsOnStackException {
+        Calc fake = new CalcFakeImpl();
+        fake.enterValue(3.0);
+        fake.multiplyAdd();
+        assertEquals(8.0, fake.displayValueOnTop());
+    }
+
+    /**
+     * Teste l'exécution groupée : elle consomme les valeurs déjà présentes comme les appels individuels.
+     */
+    @Test
+    public void testExecute() throws Exception {
+        calculator.enterValue(100.0);
+        calculator.enterValue(4.0);
+        byte[] opCodes = {OpCode.PUSH_CONST, OpCode.DIVIDE, OpCode.PUSH_CONST, OpCode.PUSH_CONST,
+                OpCode.MULTIPLY_ADD, OpCode.SUBTRACT};
+        calculator.execute(opCodes, new double[]{2.0, 0.1, 10.0});
+        assertEquals(100.0 - Math.fma(2.0, 0.1, 10.0), calculator.displayValueOnTop());
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.add());
+    }
+
+    /**
+     * Teste que les erreurs d'une exécution groupée laissent la pile dans le même état
+     * que les appels individuels.
+     */
+    @Test
+    public void testExecuteErrors() throws Exception {
+        calculator.enterValue(7.0);
+        byte[] divide = {OpCode.PUSH_CONST, OpCode.PUSH_CONST, OpCode.PUSH_CONST, OpCode.DIVIDE};
+        assertThrows(DivideByZeroException.class, () -> calculator.execute(divide, new double[]{5.0, 1.0, 0.0}));
+        assertEquals(5.0, calculator.displayValueOnTop());
+
+        byte[] underflow = {OpCode.PUSH_CONST, OpCode.ADD, OpCode.ADD, OpCode.ADD};
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.execute(underflow, new double[]{1.0}));
+        assertEquals(13.0, calculator.displayValueOnTop());
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.execute(new byte[]{OpCode.PUSH_VAR}, new double[]{1.0}));
+    }
+
     /**
      * Teste une séquence d'opérations arithmétiques en chaîne pour vérifier le comportement cumulatif de la calculatrice.
      */
@@ -0,0 +1,143 @@
+import java.text.ParseException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Une chaîne de calcul réutilisable : une Stack, la CalcImpl qui l'utilise et le RPNParserImpl associé.
+ * Construire ces trois objets à chaque requête coûte des allocations et, pour StackImpl, la croissance
+ * répétée de la liste sous-jacente ; une chaîne réutilisée est simplement vidée par {@link #reset()},
+ * et sa pile conserve la capacité acquise.
+ * Une chaîne s'obtient auprès d'un CalcPipelinePool, dont elle est empruntée jusqu'à {@link #close()},
+ * ou via {@link #forCurrentThread()}. Chaque emprunt produit une nouvelle instance, qui partage la pile,
+ * la calculatrice et le parseur de la chaîne réutilisée mais ne la rend qu'une fois : une fermeture
+ * tardive d'un ancien emprunt ne peut pas rendre la chaîne d'un emprunteur suivant.
+ * Elle n'est pas thread-safe et ne doit plus être utilisée après avoir été rendue à son pool.
+ */
+public final class CalcPipeline implements AutoCloseable {
+
+    private static final ThreadLocal<CalcPipeline> CURRENT =
+            ThreadLocal.withInitial(() -> new CalcPipeline(new DoubleArrayStackImpl(), null));
+
+    private final Stack stack;
+    private final CalcImpl calc;
+    private final RPNParserImpl parser;
+    private final CalcPipelinePool pool;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * Construit une chaîne autonome, qui n'appartient à aucun pool.
+     *
+     * @param stack La pile de la chaîne.
+     */
+    public CalcPipeline(Stack stack) {
+        this(stack, null);
+    }
+
+    /**
+     * Construit une chaîne appartenant à un pool.
+     *
+     * @param stack La pile de la chaîne.
+     * @param pool Le pool auquel {@link #close()} rend la chaîne, ou {@code null}.
+     */
+    CalcPipeline(Stack stack, CalcPipelinePool pool) {
+        this.stack = stack;
+        this.calc = new CalcImpl(stack);
+        this.parser = new RPNParserImpl(calc);
+        this.pool = pool;
+    }
+
+    /**
+     * Retourne la chaîne propre au thread courant, vidée, sur une DoubleArrayStackImpl.
+     * Elle est créée au premier appel de chaque thread puis réutilisée ; inutile de la fermer.
+     *
+     * @return La chaîne du thread courant.
+     */
+    public static CalcPipeline forCurrentThread() {
+        return CURRENT.get().reset();
+    }
+
+    /**
+     * Construit un nouvel emprunt d'une chaîne rendue à son pool, sur les mêmes pile, calculatrice et parseur.
+     *
+     * @param released La chaîne rendue, dont l'instance n'est plus utilisée.
+     */
+    private CalcPipeline(CalcPipeline released) {
+        this.stack = released.stack;
+        this.calc = released.calc;
+        this.parser = released.parser;
+        this.pool = released.pool;
+    }
+
+    /**
+     * Retourne un nouvel emprunt de cette chaîne, rendue à son pool.
+     *
+     * @return Une instance distincte, partageant la pile de cette chaîne.
+     */
+    CalcPipeline renew() {
+        return new CalcPipeline(this);
+    }
+
+    /**
+     * Vide la pile de la chaîne, sans libérer sa capacité.
+     *
+     * @return Cette chaîne.
+     */
+    public CalcPipeline reset() {
+        stack.clear();
+        return this;
+    }
+
+    /**
+     * Évalue une expression sur une pile vide.
+     *
+     * @param expression L'expression en notation RPN.
+     * @return Le résultat de l'évaluation.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si l'expression est vide ou contient des tokens non valides.
+     */
+    public double evaluate(CharSequence expression) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        stack.clear();
+        return parser.parseAndDisplayResult(expression);
+    }
+
+    /**
+     * Retourne la pile de la chaîne.
+     *
+     * @return La pile.
+     */
+    public Stack getStack() {
+        return stack;
+    }
+
+    /**
+     * Retourne la calculatrice de la chaîne.
+     *
+     * @return La calculatrice, qui opère sur {@link #getStack()}.
+     */
+    public Calc getCalc() {
+        return calc;
+    }
+
+    /**
+     * Retourne le parseur de la chaîne.
+     *
+     * @return Le parseur, qui opère sur {@link #getCalc()}.
+     */
+    public RPNParserImpl getParser() {
+        return parser;
+    }
+
+    /**
+     * Rend la chaîne à son pool, ou la vide simplement si elle n'appartient à aucun pool.
+     * Seule la première fermeture d'un emprunt rend la chaîne ; les suivantes sont sans effet,
+     * même depuis un autre thread ou après que la chaîne a été empruntée de nouveau.
+     */
+    @Override
+    public void close() {
+        if (pool == null) {
+            reset();
+        } else if (released.compareAndSet(false, true)) {
+            pool.release(this);
+        }
+    }
+}
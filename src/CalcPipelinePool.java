@@ -0,0 +1,86 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Un pool borné de CalcPipeline, partageable entre threads.
+ * {@link #acquire()} ne bloque jamais : elle reprend une chaîne inactive si le pool en contient,
+ * et en crée une nouvelle sinon. Une chaîne rendue par {@link CalcPipeline#close()} est vidée puis
+ * conservée tant que le nombre de chaînes inactives ne dépasse pas la borne ; au-delà, elle est
+ * abandonnée au ramasse-miettes. Usage typique :
+ * <pre>{@code
+ * try (CalcPipeline pipeline = pool.acquire()) {
+ *     return pipeline.evaluate(expression);
+ * }
+ * }</pre>
+ */
+public class CalcPipelinePool {
+
+    private final ArrayBlockingQueue<CalcPipeline> idle;
+    private final Supplier<? extends Stack> stackFactory;
+    private final LongAdder created = new LongAdder();
+
+    /**
+     * Construit un pool de chaînes sur des piles DoubleArrayStackImpl.
+     *
+     * @param maxIdle Le nombre maximal de chaînes inactives conservées.
+     */
+    public CalcPipelinePool(int maxIdle) {
+        this(maxIdle, DoubleArrayStackImpl::new);
+    }
+
+    /**
+     * Construit un pool de chaînes.
+     *
+     * @param maxIdle Le nombre maximal de chaînes inactives conservées.
+     * @param stackFactory Crée la pile de chaque nouvelle chaîne.
+     * @throws IllegalArgumentException Si la borne est négative ou nulle.
+     */
+    public CalcPipelinePool(int maxIdle, Supplier<? extends Stack> stackFactory) {
+        if (maxIdle <= 0) {
+            throw new IllegalArgumentException("Maximum idle count must be positive: " + maxIdle);
+        }
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+        this.stackFactory = stackFactory;
+    }
+
+    /**
+     * Emprunte une chaîne vide, à rendre par {@link CalcPipeline#close()}.
+     *
+     * @return Une chaîne réservée à l'appelant jusqu'à sa fermeture ; une nouvelle instance à chaque emprunt.
+     */
+    public CalcPipeline acquire() {
+        CalcPipeline pipeline = idle.poll();
+        if (pipeline == null) {
+            created.increment();
+            return new CalcPipeline(stackFactory.get(), this);
+        }
+        return pipeline.renew();
+    }
+
+    /**
+     * Retourne le nombre de chaînes inactives actuellement conservées.
+     *
+     * @return Le nombre de chaînes disponibles sans création.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Retourne le nombre de chaînes créées depuis la construction du pool.
+     *
+     * @return Le nombre de créations.
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Reprend une chaîne rendue par son emprunteur ;
+     * {@link CalcPipeline#close()} ne l'appelle qu'une fois par emprunt.
+     */
+    void release(CalcPipeline pipeline) {
+        idle.offer(pipeline.reset());
+    }
+}
@@ -0,0 +1,133 @@
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour CalcPipelinePool et CalcPipeline.
+ * Ces tests vérifient la réutilisation des chaînes, leur remise à zéro et la borne du pool.
+ */
+public class CalcPipelinePoolIntegrationTest {
+
+    /**
+     * Teste qu'une chaîne rendue est vidée puis réutilisée, avec la capacité acquise par sa pile.
+     */
+    @Test
+    public void testPipelineIsReused() throws Exception {
+        CalcPipelinePool pool = new CalcPipelinePool(4);
+        CalcPipeline first;
+        try (CalcPipeline pipeline = pool.acquire()) {
+            first = pipeline;
+            assertEquals(55.0, pipeline.evaluate("1 2 3 4 5 6 7 8 9 10 + + + + + + + + +"));
+            pipeline.getCalc().enterValue(1);
+        }
+        assertEquals(1, pool.getIdleCount());
+
+        try (CalcPipeline pipeline = pool.acquire()) {
+            assertNotSame(first, pipeline);
+            assertSame(first.getStack(), pipeline.getStack());
+            assertTrue(pipeline.getStack().isEmpty());
+            assertEquals(16, ((DoubleArrayStackImpl) pipeline.getStack()).getCapacity());
+            assertEquals(3.0, pipeline.getParser().parseAndDisplayResult("1 2 +"));
+        }
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    /**
+     * Teste que chaque évaluation part d'une pile vide, même après une erreur.
+     */
+    @Test
+    public void testEvaluateStartsFromEmptyStack() throws Exception {
+        CalcPipeline pipeline = new CalcPipeline(new StackImpl());
+        assertThrows(ParseException.class, () -> pipeline.evaluate("1 2 a"));
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> pipeline.evaluate("+"));
+        assertEquals(2.0, pipeline.evaluate("2"));
+    }
+
+    /**
+     * Teste que le pool ne conserve pas plus de chaînes inactives que sa borne.
+     */
+    @Test
+    public void testIdleBound() {
+        CalcPipelinePool pool = new CalcPipelinePool(2, StackImpl::new);
+        CalcPipeline[] pipelines = {pool.acquire(), pool.acquire(), pool.acquire()};
+        for (CalcPipeline pipeline : pipelines) {
+            pipeline.close();
+        }
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(3, pool.getCreatedCount());
+        assertThrows(IllegalArgumentException.class, () -> new CalcPipelinePool(0));
+    }
+
+    /**
+     * Teste qu'une chaîne fermée deux fois n'est rendue qu'une fois, et qu'une fermeture tardive d'un
+     * ancien emprunt ne rend pas la chaîne de l'emprunteur suivant, qui n'est donc jamais partagée.
+     */
+    @Test
+    public void testStaleCloseReleasesOnce() {
+        CalcPipelinePool pool = new CalcPipelinePool(4);
+        CalcPipeline first = pool.acquire();
+        first.close();
+        first.close();
+        assertEquals(1, pool.getIdleCount());
+
+        CalcPipeline second = pool.acquire();
+        assertSame(first.getStack(), second.getStack());
+        first.close();
+        assertEquals(0, pool.getIdleCount());
+
+        CalcPipeline third = pool.acquire();
+        assertNotSame(second.getStack(), third.getStack());
+        assertEquals(2, pool.getCreatedCount());
+        second.close();
+        second.close();
+        third.close();
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    /**
+     * Teste des emprunts simultanés depuis plusieurs threads, chacun sur sa propre chaîne.
+     */
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        CalcPipelinePool pool = new CalcPipelinePool(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    try (CalcPipeline pipeline = pool.acquire()) {
+                        if (pipeline.evaluate(thread + " " + i + " *") != thread * i) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        executor.shutdown();
+        assertTrue(pool.getCreatedCount() <= 8);
+        assertTrue(pool.getIdleCount() <= 8);
+    }
+
+    /**
+     * Teste la chaîne propre au thread courant.
+     */
+    @Test
+    public void testForCurrentThread() throws Exception {
+        CalcPipeline pipeline = CalcPipeline.forCurrentThread();
+        pipeline.getCalc().enterValue(3);
+        assertSame(pipeline, CalcPipeline.forCurrentThread());
+        assertTrue(pipeline.getStack().isEmpty());
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Une formule RPN traduite en bytecode par RPNJit.
+ */
+public interface CompiledFormula {
+    /**
+     * evaluates the formula with the given variable values
+     * @param variables the values, in the order of RPNProgram.getVariableNames()
+     * @return the value on top of the stack
+     * @throws DivideByZeroException
+     */
+    double evaluate(double[] variables) throws DivideByZeroException;
+}
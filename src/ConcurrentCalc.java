@@ -0,0 +1,144 @@
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Une implémentation thread-safe de l'interface Calc, destinée à être partagée entre plusieurs threads.
+ * Chaque opération lit les opérandes au sommet d'une ConcurrentStack et les remplace par le résultat
+ * en un seul compareAndSet : les deux retraits et l'ajout d'une addition, par exemple, sont donc
+ * observés comme une seule étape par les autres threads (linéarisabilité), sans aucun verrou.
+ * Une division par zéro retire ses deux opérandes avant de lever DivideByZeroException, comme CalcImpl.
+ */
+public class ConcurrentCalc implements Calc {
+
+    private final ConcurrentStack stack;
+
+    /**
+     * Construit une calculatrice sur une pile concurrente.
+     *
+     * @param stack La pile partagée.
+     */
+    public ConcurrentCalc(ConcurrentStack stack) {
+        this.stack = stack;
+    }
+
+    /**
+     * Ajoute une valeur à la pile.
+     *
+     * @param value La valeur à ajouter.
+     */
+    @Override
+    public void enterValue(double value) {
+        stack.push(value);
+    }
+
+    /**
+     * Remplace atomiquement les deux dernières valeurs de la pile par leur somme.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void add() throws NotEnoughOperandsOnStackException {
+        apply((value2, value1) -> value2 + value1);
+    }
+
+    /**
+     * Remplace atomiquement les deux dernières valeurs de la pile par leur différence.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void subtract() throws NotEnoughOperandsOnStackException {
+        apply((value2, value1) -> value2 - value1);
+    }
+
+    /**
+     * Remplace atomiquement les deux dernières valeurs de la pile par leur produit.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void multiply() throws NotEnoughOperandsOnStackException {
+        apply((value2, value1) -> value2 * value1);
+    }
+
+    /**
+     * Remplace atomiquement les deux dernières valeurs de la pile par leur quotient.
+     * Si le diviseur est nul, les deux valeurs sont retirées et aucun résultat n'est ajouté.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     * @throws DivideByZeroException Si une tentative de division par zéro est détectée.
+     */
+    @Override
+    public void divide() throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        while (true) {
+            ConcurrentStack.Node top = operands(2);
+            ConcurrentStack.Node second = top.next;
+            if (top.value == 0) {
+                if (stack.compareAndSetTop(top, second.next)) {
+                    throw new DivideByZeroException();
+                }
+            } else if (stack.compareAndSetTop(top, new ConcurrentStack.Node(second.value / top.value, second.next))) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Remplace atomiquement les trois dernières valeurs a, b et c de la pile par Math.fma(a, b, c).
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void multiplyAdd() throws NotEnoughOperandsOnStackException {
+        while (true) {
+            ConcurrentStack.Node top = operands(3);
+            ConcurrentStack.Node second = top.next;
+            ConcurrentStack.Node third = second.next;
+            double result = Math.fma(third.value, second.value, top.value);
+            if (stack.compareAndSetTop(top, new ConcurrentStack.Node(result, third.next))) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Renvoie la valeur actuellement au sommet de la pile.
+     *
+     * @return La valeur au sommet de la pile.
+     * @throws NotEnoughOperandsOnStackException Si la pile est vide.
+     */
+    @Override
+    public double displayValueOnTop() throws NotEnoughOperandsOnStackException {
+        return operands(1).value;
+    }
+
+    /**
+     * Remplace atomiquement les deux dernières valeurs par {@code operator(avant-dernière, dernière)}.
+     */
+    private void apply(DoubleBinaryOperator operator) throws NotEnoughOperandsOnStackException {
+        while (true) {
+            ConcurrentStack.Node top = operands(2);
+            ConcurrentStack.Node second = top.next;
+            double result = operator.applyAsDouble(second.value, top.value);
+            if (stack.compareAndSetTop(top, new ConcurrentStack.Node(result, second.next))) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Lit le sommet de la pile en vérifiant qu'il porte au moins {@code count} valeurs.
+     *
+     * @return Le nœud au sommet.
+     * @throws NotEnoughOperandsOnStackException Si la pile contient moins de {@code count} valeurs.
+     */
+    private ConcurrentStack.Node operands(int count) throws NotEnoughOperandsOnStackException {
+        ConcurrentStack.Node top = stack.top();
+        if (top == null || top.size < count) {
+            throw new NotEnoughOperandsOnStackException();
+        }
+        return top;
+    }
+}
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour ConcurrentCalc.
+ * Ces tests vérifient la sémantique de CalcImpl sur un seul thread, puis l'atomicité
+ * des opérations composées lorsque la calculatrice est partagée.
+ */
+public class ConcurrentCalcIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+
+    private ConcurrentStack stack;
+    private Calc calculator;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        stack = new ConcurrentStack();
+        calculator = new ConcurrentCalc(stack);
+    }
+
+    /**
+     * Teste les quatre opérations et la multiplication-addition.
+     */
+    @Test
+    public void testOperations() throws Exception {
+        calculator.enterValue(6);
+        calculator.enterValue(3);
+        calculator.divide();
+        calculator.enterValue(4);
+        calculator.multiply();
+        calculator.enterValue(1);
+        calculator.subtract();
+        calculator.enterValue(0.5);
+        calculator.add();
+        assertEquals(7.5, calculator.displayValueOnTop());
+        calculator.enterValue(2);
+        calculator.enterValue(1);
+        calculator.multiplyAdd();
+        assertEquals(16.0, calculator.displayValueOnTop());
+        assertEquals(1, stack.getSize());
+    }
+
+    /**
+     * Teste qu'une division par zéro retire ses deux opérandes, comme CalcImpl.
+     */
+    @Test
+    public void testDivideByZero() {
+        calculator.enterValue(1);
+        calculator.enterValue(5);
+        calculator.enterValue(0);
+        assertThrows(DivideByZeroException.class, () -> calculator.divide());
+        assertEquals(1, stack.getSize());
+    }
+
+    /**
+     * Teste le manque d'opérandes, sans modification de la pile.
+     */
+    @Test
+    public void testNotEnoughOperands() {
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.displayValueOnTop());
+        calculator.enterValue(5);
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.add());
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> calculator.multiplyAdd());
+        assertEquals(1, stack.getSize());
+    }
+
+    /**
+     * Teste que des additions simultanées sur une calculatrice partagée ne perdent aucune valeur :
+     * chaque addition retire deux valeurs et en ajoute une en une seule étape.
+     */
+    @Test
+    public void testConcurrentAdditionsAreAtomic() throws Exception {
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        for (int i = 0; i <= operations; i++) {
+            calculator.enterValue(1);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    calculator.add();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1, stack.getSize());
+        assertEquals(operations + 1, calculator.displayValueOnTop());
+    }
+}
@@ -0,0 +1,211 @@
+import java.util.EmptyStackException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Une implémentation thread-safe et sans verrou de l'interface Stack (pile de Treiber).
+ * La pile est une liste chaînée immuable dont le sommet est publié par un AtomicReference :
+ * chaque opération lit le sommet, prépare le nouveau sommet, puis le publie par un unique
+ * compareAndSet, recommencé si un autre thread a modifié la pile entre-temps.
+ * Chaque nœud porte une valeur {@code double} primitive et la taille de la pile à son niveau,
+ * de sorte que getSize est exact et en temps constant.
+ * ConcurrentCalc s'appuie sur {@link #top()} et {@link #compareAndSetTop(Node, Node)} pour rendre
+ * atomiques ses opérations composées (deux retraits et un ajout).
+ */
+public class ConcurrentStack implements Stack {
+
+    private final AtomicReference<Node> top = new AtomicReference<>();
+
+    /**
+     * Un élément de la pile. Les nœuds sont immuables et peuvent être lus sans synchronisation.
+     */
+    static final class Node {
+        final double value;
+        final Node next;
+        final int size;
+
+        Node(double value, Node next) {
+            this.value = value;
+            this.next = next;
+            this.size = next == null ? 1 : next.size + 1;
+        }
+    }
+
+    /**
+     * Vérifie si la pile est vide.
+     *
+     * @return {@code true} si la pile est vide, sinon {@code false}.
+     */
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * Retourne la taille de la pile.
+     *
+     * @return La taille de la pile.
+     */
+    @Override
+    public int getSize() {
+        Node node = top.get();
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Ajoute un élément au sommet de la pile.
+     *
+     * @param item L'élément à ajouter au sommet de la pile.
+     */
+    @Override
+    public void push(double item) {
+        Node current = top.get();
+        while (!top.compareAndSet(current, new Node(item, current))) {
+            Thread.onSpinWait();
+            current = top.get();
+        }
+    }
+
+    /**
+     * Retourne l'élément au sommet de la pile sans le retirer.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     */
+    @Override
+    public double peek() throws EmptyStackException {
+        Node node = top.get();
+        if (node == null) {
+            throw new EmptyStackException();
+        }
+        return node.value;
+    }
+
+    /**
+     * Retire et retourne l'élément au sommet de la pile.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     */
+    @Override
+    public double pop() throws EmptyStackException {
+        while (true) {
+            Node node = top.get();
+            if (node == null) {
+                throw new EmptyStackException();
+            }
+            if (top.compareAndSet(node, node.next)) {
+                return node.value;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Ajoute plusieurs éléments en une seule étape atomique : la chaîne des nouveaux nœuds
+     * est préparée puis publiée par un unique compareAndSet.
+     *
+     * @param values Le tableau contenant les éléments.
+     * @param offset L'indice du premier élément à ajouter.
+     * @param length Le nombre d'éléments à ajouter.
+     */
+    @Override
+    public void pushAll(double[] values, int offset, int length) {
+        while (true) {
+            Node current = top.get();
+            Node node = current;
+            for (int i = offset; i < offset + length; i++) {
+                node = new Node(values[i], node);
+            }
+            if (top.compareAndSet(current, node)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Retire plusieurs éléments en une seule étape atomique.
+     *
+     * @param destination Le tableau recevant les éléments, du plus profond au sommet.
+     * @param offset L'indice où écrire le plus profond des éléments retirés.
+     * @param count Le nombre d'éléments à retirer.
+     * @throws EmptyStackException Si la pile contient moins de {@code count} éléments ; elle reste alors inchangée.
+     */
+    @Override
+    public void popN(double[] destination, int offset, int count) throws EmptyStackException {
+        while (true) {
+            Node current = top.get();
+            if ((current == null ? 0 : current.size) < count) {
+                throw new EmptyStackException();
+            }
+            Node node = current;
+            for (int i = 0; i < count; i++) {
+                node = node.next;
+            }
+            if (top.compareAndSet(current, node)) {
+                node = current;
+                for (int i = offset + count - 1; i >= offset; i--) {
+                    destination[i] = node.value;
+                    node = node.next;
+                }
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copie plusieurs éléments d'un même état de la pile, sans la modifier.
+     * Les nœuds situés au-dessus de la plage sont parcourus : le coût croît avec la profondeur de {@code index}.
+     * Deux appels peuvent lire deux états différents ; StackSnapshot enregistre donc une ConcurrentStack
+     * en parcourant une seule fois la chaîne lue depuis {@link #top()}.
+     *
+     * @param index La position du plus profond des éléments copiés, 0 désignant le fond de la pile.
+     * @param destination Le tableau recevant les éléments, du plus profond au plus haut.
+     * @param offset L'indice où écrire le plus profond des éléments copiés.
+     * @param count Le nombre d'éléments à copier.
+     * @throws IndexOutOfBoundsException Si la plage ne se trouve pas dans l'état lu de la pile.
+     */
+    @Override
+    public void copyTo(int index, double[] destination, int offset, int count) {
+        Node node = top.get();
+        int size = node == null ? 0 : node.size;
+        Objects.checkFromIndexSize(index, count, size);
+        for (int i = size - index - count; i > 0; i--) {
+            node = node.next;
+        }
+        for (int i = offset + count - 1; i >= offset; i--) {
+            destination[i] = node.value;
+            node = node.next;
+        }
+    }
+
+    /**
+     * Vide la pile en une seule étape atomique.
+     */
+    @Override
+    public void clear() {
+        top.set(null);
+    }
+
+    /**
+     * Retourne le sommet courant, pour les opérations composées de ConcurrentCalc.
+     *
+     * @return Le nœud au sommet, ou {@code null} si la pile est vide.
+     */
+    Node top() {
+        return top.get();
+    }
+
+    /**
+     * Publie un nouveau sommet si le sommet n'a pas changé depuis sa lecture.
+     *
+     * @param expected Le sommet lu par {@link #top()}.
+     * @param update Le nouveau sommet.
+     * @return {@code true} si le sommet a été remplacé.
+     */
+    boolean compareAndSetTop(Node expected, Node update) {
+        return top.compareAndSet(expected, update);
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour ConcurrentStack.
+ * Elle rejoue l'ensemble de la suite StackIntegrationTest contre la pile sans verrou
+ * et vérifie en plus qu'aucune valeur n'est perdue ni dupliquée sous contention.
+ */
+public class ConcurrentStackIntegrationTest extends StackIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int VALUES_PER_THREAD = 20_000;
+
+    /**
+     * Fournit une pile concurrente.
+     */
+    @Override
+    protected Stack createStack() {
+        return new ConcurrentStack();
+    }
+
+    /**
+     * Teste des ajouts et retraits simultanés : chaque valeur ajoutée est retirée exactement une fois.
+     */
+    @Test
+    public void testConcurrentPushAndPop() throws Exception {
+        ConcurrentStack concurrentStack = new ConcurrentStack();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                long popped = 0;
+                for (int i = 0; i < VALUES_PER_THREAD; i++) {
+                    concurrentStack.push(thread * VALUES_PER_THREAD + i);
+                    popped += (long) concurrentStack.pop();
+                }
+                return popped;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+
+        long count = (long) THREADS * VALUES_PER_THREAD;
+        assertEquals(count * (count - 1) / 2, total);
+        assertTrue(concurrentStack.isEmpty());
+        assertEquals(0, concurrentStack.getSize());
+    }
+}
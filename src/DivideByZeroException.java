@@ -4,11 +4,28 @@
  * détecte un diviseur égal à zéro.
  */
 public class DivideByZeroException extends Exception {
+    /**
+     * Indique si les exceptions créées par le constructeur par défaut capturent la pile d'appels.
+     * La propriété système {@code rpn.exceptions.stackless=true} les rend toutes sans pile d'appels.
+     */
+    private static final boolean WRITABLE_STACK_TRACE = !Boolean.getBoolean("rpn.exceptions.stackless");
+
     /**
      * Constructeur par défaut pour DivideByZeroException.
-     * Initialise l'exception avec un message d'erreur par défaut.
+     * Initialise l'exception avec un message d'erreur par défaut ; la pile d'appels est capturée
+     * sauf si la propriété système {@code rpn.exceptions.stackless} vaut {@code true}.
      */
     public DivideByZeroException() {
-        super("Cannot divide by zero.");
+        this(WRITABLE_STACK_TRACE);
+    }
+
+    /**
+     * Constructeur permettant de désactiver la capture de la pile d'appels, coûteuse lorsque
+     * l'exception est levée fréquemment.
+     *
+     * @param writableStackTrace {@code false} pour créer une exception sans pile d'appels.
+     */
+    public DivideByZeroException(boolean writableStackTrace) {
+        super("Cannot divide by zero.", null, true, writableStackTrace);
     }
 }
@@ -0,0 +1,213 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Objects;
+
+/**
+ * Une implémentation de l'interface Stack reposant sur un tableau de {@code double} primitifs.
+ * Contrairement à StackImpl, aucune valeur n'est encapsulée dans un objet {@code Double} :
+ * push, pop et peek n'effectuent donc aucune allocation. Le tableau s'agrandit par
+ * doublement de sa capacité et peut, sur demande, se réduire lorsque la pile se vide.
+ */
+public class DoubleArrayStackImpl implements Stack {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int initialCapacity;
+    private final boolean shrinkEnabled;
+    private double[] elements;
+    private int size;
+
+    /**
+     * Construit une pile avec la capacité initiale par défaut et sans réduction automatique.
+     */
+    public DoubleArrayStackImpl() {
+        this(DEFAULT_INITIAL_CAPACITY, false);
+    }
+
+    /**
+     * Construit une pile avec une capacité initiale donnée et sans réduction automatique.
+     *
+     * @param initialCapacity La capacité initiale du tableau sous-jacent.
+     */
+    public DoubleArrayStackImpl(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Construit une pile avec une capacité initiale donnée.
+     *
+     * @param initialCapacity La capacité initiale du tableau sous-jacent.
+     * @param shrinkEnabled {@code true} pour réduire le tableau lorsque la pile n'en occupe plus qu'un quart.
+     * @throws IllegalArgumentException Si la capacité initiale est négative ou nulle.
+     */
+    public DoubleArrayStackImpl(int initialCapacity, boolean shrinkEnabled) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        }
+        this.initialCapacity = initialCapacity;
+        this.shrinkEnabled = shrinkEnabled;
+        this.elements = new double[initialCapacity];
+    }
+
+    /**
+     * Vérifie si la pile est vide.
+     *
+     * @return {@code true} si la pile est vide, sinon {@code false}.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retourne la taille de la pile.
+     *
+     * @return La taille de la pile.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Ajoute un élément au sommet de la pile, en agrandissant le tableau si nécessaire.
+     *
+     * @param item L'élément à ajouter au sommet de la pile.
+     */
+    @Override
+    public void push(double item) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[size++] = item;
+    }
+
+    /**
+     * Retourne l'élément au sommet de la pile sans le retirer.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     */
+    @Override
+    public double peek() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Retire et retourne l'élément au sommet de la pile.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     */
+    @Override
+    public double pop() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        double item = elements[--size];
+        if (shrinkEnabled) {
+            shrinkIfSparse();
+        }
+        return item;
+    }
+
+    /**
+     * Ajoute plusieurs éléments au sommet de la pile par une seule copie de tableau.
+     *
+     * @param values Le tableau contenant les éléments.
+     * @param offset L'indice du premier élément à ajouter.
+     * @param length Le nombre d'éléments à ajouter.
+     */
+    @Override
+    public void pushAll(double[] values, int offset, int length) {
+        while (elements.length - size < length) {
+            grow();
+        }
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    /**
+     * Retire plusieurs éléments du sommet de la pile par une seule copie de tableau.
+     *
+     * @param destination Le tableau recevant les éléments, du plus profond au sommet.
+     * @param offset L'indice où écrire le plus profond des éléments retirés.
+     * @param count Le nombre d'éléments à retirer.
+     * @throws EmptyStackException Si la pile contient moins de {@code count} éléments ; elle reste alors inchangée.
+     */
+    @Override
+    public void popN(double[] destination, int offset, int count) throws EmptyStackException {
+        if (size < count) {
+            throw new EmptyStackException();
+        }
+        size -= count;
+        System.arraycopy(elements, size, destination, offset, count);
+        if (shrinkEnabled) {
+            shrinkIfSparse();
+        }
+    }
+
+    /**
+     * Copie plusieurs éléments de la pile, sans la modifier, par une seule copie de tableau.
+     *
+     * @param index La position du plus profond des éléments copiés, 0 désignant le fond de la pile.
+     * @param destination Le tableau recevant les éléments, du plus profond au plus haut.
+     * @param offset L'indice où écrire le plus profond des éléments copiés.
+     * @param count Le nombre d'éléments à copier.
+     * @throws IndexOutOfBoundsException Si la plage ne se trouve pas dans la pile.
+     */
+    @Override
+    public void copyTo(int index, double[] destination, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, size);
+        System.arraycopy(elements, index, destination, offset, count);
+    }
+
+    /**
+     * Vide la pile en temps constant. Le tableau sous-jacent est conservé, sauf si la réduction
+     * automatique est activée : il revient alors à sa capacité initiale.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        if (shrinkEnabled && elements.length > initialCapacity) {
+            elements = new double[initialCapacity];
+        }
+    }
+
+    /**
+     * Retourne la capacité actuelle du tableau sous-jacent.
+     *
+     * @return Le nombre d'éléments que la pile peut contenir sans réallocation.
+     */
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Double la capacité du tableau sous-jacent.
+     */
+    private void grow() {
+        int newCapacity = elements.length << 1;
+        if (newCapacity < 0) {
+            if (elements.length == Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Stack capacity exceeded");
+            }
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    /**
+     * Divise la capacité par deux lorsque la pile n'occupe plus qu'un quart du tableau,
+     * sans descendre sous la capacité initiale.
+     */
+    private void shrinkIfSparse() {
+        int capacity = elements.length;
+        if (capacity > initialCapacity && size <= capacity >> 2) {
+            elements = Arrays.copyOf(elements, Math.max(initialCapacity, capacity >> 1));
+        }
+    }
+}
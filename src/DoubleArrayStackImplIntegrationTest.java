@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour DoubleArrayStackImpl.
+ * Elle rejoue l'ensemble de la suite StackIntegrationTest contre la pile primitive
+ * et vérifie en plus la gestion de la capacité du tableau sous-jacent.
+ */
+public class DoubleArrayStackImplIntegrationTest extends StackIntegrationTest {
+
+    /**
+     * Fournit une pile primitive de petite capacité afin d'exercer l'agrandissement.
+     */
+    @Override
+    protected Stack createStack() {
+        return new DoubleArrayStackImpl(2);
+    }
+
+    /**
+     * Teste l'agrandissement du tableau lorsque la capacité initiale est dépassée.
+     */
+    @Test
+    public void testGrowth() {
+        DoubleArrayStackImpl arrayStack = new DoubleArrayStackImpl(2);
+        for (int i = 0; i < 5; i++) {
+            arrayStack.push(i);
+        }
+        assertEquals(5, arrayStack.getSize());
+        assertEquals(8, arrayStack.getCapacity());
+        assertEquals(4.0, arrayStack.peek());
+    }
+
+    /**
+     * Teste que clear conserve la capacité acquise, sauf lorsque la réduction est activée.
+     */
+    @Test
+    public void testClearCapacity() {
+        DoubleArrayStackImpl arrayStack = new DoubleArrayStackImpl(2);
+        DoubleArrayStackImpl shrinkingStack = new DoubleArrayStackImpl(2, true);
+        for (int i = 0; i < 100; i++) {
+            arrayStack.push(i);
+            shrinkingStack.push(i);
+        }
+        arrayStack.clear();
+        shrinkingStack.clear();
+        assertEquals(128, arrayStack.getCapacity());
+        assertEquals(2, shrinkingStack.getCapacity());
+    }
+
+    /**
+     * Teste la réduction du tableau lorsque l'option est activée, sans descendre sous la capacité initiale.
+     */
+    @Test
+    public void testShrink() {
+        DoubleArrayStackImpl arrayStack = new DoubleArrayStackImpl(4, true);
+        for (int i = 0; i < 64; i++) {
+            arrayStack.push(i);
+        }
+        assertEquals(64, arrayStack.getCapacity());
+        while (!arrayStack.isEmpty()) {
+            arrayStack.pop();
+        }
+        assertEquals(4, arrayStack.getCapacity());
+    }
+
+    /**
+     * Teste que la capacité est conservée lorsque la réduction est désactivée.
+     */
+    @Test
+    public void testNoShrinkByDefault() {
+        DoubleArrayStackImpl arrayStack = new DoubleArrayStackImpl(4);
+        for (int i = 0; i < 64; i++) {
+            arrayStack.push(i);
+        }
+        while (!arrayStack.isEmpty()) {
+            arrayStack.pop();
+        }
+        assertEquals(64, arrayStack.getCapacity());
+    }
+
+    /**
+     * Teste le rejet d'une capacité initiale invalide.
+     */
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleArrayStackImpl(0));
+    }
+}
@@ -0,0 +1,323 @@
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écrit un {@code double} en ASCII directement dans un tableau d'octets, sans créer de chaîne.
+ * Le texte produit est exactement celui de {@link Double#toString(double)} : la plus courte écriture
+ * décimale qui relit le même double, en notation simple entre 10<sup>-3</sup> et 10<sup>7</sup> et
+ * en notation scientifique ({@code E}) ailleurs.
+ * Les chiffres sont calculés par l'algorithme Schubfach de Giulietti : les bornes de l'intervalle
+ * d'arrondi du double sont multipliées par une approximation sur 126 bits de 10<sup>-k</sup>, ce qui
+ * donne directement les candidats décimaux les plus courts, sans arithmétique multiprécision.
+ * La table de ces approximations est calculée une fois, avec BigInteger, au chargement de la classe.
+ */
+public final class DoubleFormatter {
+
+    /**
+     * Le nombre maximal d'octets écrits par {@link #format(double, byte[], int)},
+     * atteint par exemple pour {@code -2.2250738585072014E-308}.
+     */
+    public static final int MAX_LENGTH = 24;
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final int H = 17;
+    private static final long C_MIN = 1L << P - 1;
+    private static final long C_TINY = 3;
+    private static final int EXPONENT_MASK = 0x7FF;
+    private static final long SIGNIFICAND_MASK = C_MIN - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+    private static final long[] POWERS_OF_TEN = new long[H + 1];
+
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZERO = "0.0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Pour chaque k de K_MIN à K_MAX, g = floor(10<sup>-k</sup> × 2<sup>125 - floor(log2(10<sup>-k</sup>))</sup>) + 1,
+     * compris entre 2<sup>125</sup> et 2<sup>126</sup> : ses 63 bits de poids fort puis ses 63 bits de poids faible.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= H; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+
+        BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g = k <= 0
+                    ? BigInteger.TEN.pow(-k).shiftLeft(shift)
+                    : BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            g = g.add(BigInteger.ONE);
+            int index = 2 * (k - K_MIN);
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.and(mask63).longValue();
+        }
+    }
+
+    private DoubleFormatter() {
+    }
+
+    /**
+     * Écrit la valeur à partir de l'indice donné.
+     *
+     * @param value La valeur à écrire.
+     * @param bytes Le tableau recevant le texte ; il doit disposer d'au moins {@link #MAX_LENGTH} octets à partir
+     *              de {@code offset}, et ceux qui suivent le texte peuvent être écrasés.
+     * @param offset L'indice du premier octet écrit.
+     * @return L'indice suivant le dernier octet écrit.
+     */
+    public static int format(double value, byte[] bytes, int offset) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & SIGNIFICAND_MASK;
+        int bq = (int) (bits >>> P - 1) & EXPONENT_MASK;
+        if (bq == EXPONENT_MASK) {
+            if (t != 0) {
+                return append(NAN, bytes, offset);
+            }
+            if (bits < 0) {
+                bytes[offset++] = '-';
+            }
+            return append(INFINITY, bytes, offset);
+        }
+        if (bits < 0) {
+            bytes[offset++] = '-';
+        }
+        if (bq != 0) {
+            // Valeur normale : value = c × 2^-mq.
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            if (0 < mq && mq < P) {
+                // Valeur entière de moins de 2^53 : ses chiffres sont exacts.
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, bytes, offset);
+                }
+            }
+            return toDecimal(-mq, c, 0, bytes, offset);
+        }
+        if (t != 0) {
+            // Valeur sous-normale : les plus petites sont multipliées par dix pour garder deux chiffres.
+            return t < C_TINY
+                    ? toDecimal(Q_MIN, 10 * t, -1, bytes, offset)
+                    : toDecimal(Q_MIN, t, 0, bytes, offset);
+        }
+        return append(ZERO, bytes, offset);
+    }
+
+    /**
+     * Retourne le texte de la valeur, identique à celui de {@link Double#toString(double)}.
+     *
+     * @param value La valeur à écrire.
+     * @return Le texte de la valeur.
+     */
+    public static String toString(double value) {
+        byte[] bytes = new byte[MAX_LENGTH];
+        return new String(bytes, 0, format(value, bytes, 0), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Écrit la plus courte écriture décimale de c × 2<sup>q</sup>, pour c positif,
+     * en ajoutant {@code dk} à l'exposant décimal obtenu.
+     */
+    private static int toDecimal(int q, long c, int dk, byte[] bytes, int offset) {
+        int out = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // Puissance de deux : l'intervalle d'arrondi est deux fois plus étroit sous la valeur.
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int index = 2 * (k - K_MIN);
+        long g1 = G[index];
+        long g0 = G[index + 1];
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        // Un candidat à un chiffre de moins, s'il est seul dans l'intervalle d'arrondi.
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, bytes, offset);
+            }
+        }
+
+        // Sinon, le plus proche des deux candidats encadrant la valeur, au pair en cas d'égalité.
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, bytes, offset);
+        }
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, bytes, offset);
+    }
+
+    /**
+     * Calcule g × cp / 2<sup>127</sup> arrondi à l'impair, où g = g1 × 2<sup>63</sup> + g0.
+     */
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Écrit f × 10<sup>e</sup>, pour f positif d'au plus 17 chiffres.
+     */
+    private static int toChars(long f, int e, byte[] bytes, int offset) {
+        int length = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        // Ramène f à exactement 17 chiffres : value = 0.f × 10^e.
+        f *= POWERS_OF_TEN[H - length];
+        e += length;
+
+        // h : le premier chiffre, m : les 8 suivants, l : les 8 derniers.
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000L * h);
+
+        int i = offset;
+        if (0 < e && e <= 7) {
+            // Notation simple sans zéro en tête.
+            bytes[i++] = (byte) ('0' + h);
+            int y = fraction(m);
+            int d = 1;
+            for (; d < e; d++) {
+                int t = 10 * y;
+                bytes[i++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            bytes[i++] = '.';
+            for (; d <= 8; d++) {
+                int t = 10 * y;
+                bytes[i++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return lowDigits(l, bytes, i);
+        }
+        if (-3 < e && e <= 0) {
+            // Notation simple avec zéros en tête.
+            bytes[i++] = '0';
+            bytes[i++] = '.';
+            for (; e < 0; e++) {
+                bytes[i++] = '0';
+            }
+            bytes[i++] = (byte) ('0' + h);
+            i = append8Digits(m, bytes, i);
+            return lowDigits(l, bytes, i);
+        }
+        bytes[i++] = (byte) ('0' + h);
+        bytes[i++] = '.';
+        i = append8Digits(m, bytes, i);
+        i = lowDigits(l, bytes, i);
+        return exponent(e - 1, bytes, i);
+    }
+
+    /**
+     * Écrit les 8 derniers chiffres s'ils ne sont pas tous nuls, puis retire les zéros finaux
+     * en gardant au moins un chiffre après le point.
+     */
+    private static int lowDigits(int l, byte[] bytes, int i) {
+        if (l != 0) {
+            i = append8Digits(l, bytes, i);
+        }
+        while (bytes[i - 1] == '0') {
+            i--;
+        }
+        if (bytes[i - 1] == '.') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Écrit les 8 chiffres de m, zéros en tête compris, de gauche à droite.
+     */
+    private static int append8Digits(int m, byte[] bytes, int i) {
+        int y = fraction(m);
+        for (int d = 0; d < 8; d++) {
+            int t = 10 * y;
+            bytes[i++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return i;
+    }
+
+    /**
+     * Retourne m / 10<sup>8</sup> en virgule fixe sur 28 bits, pour m de 8 chiffres au plus :
+     * chaque multiplication par dix fait alors sortir le chiffre suivant dans les bits de poids fort.
+     */
+    private static int fraction(int m) {
+        return (int) (Math.multiplyHigh((long) (m + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int exponent(int e, byte[] bytes, int i) {
+        bytes[i++] = 'E';
+        if (e < 0) {
+            bytes[i++] = '-';
+            e = -e;
+        }
+        if (e >= 100) {
+            int d = e * 1_311 >>> 17;
+            bytes[i++] = (byte) ('0' + d);
+            e -= 100 * d;
+            bytes[i++] = (byte) ('0' + e / 10);
+        } else if (e >= 10) {
+            bytes[i++] = (byte) ('0' + e / 10);
+        }
+        bytes[i++] = (byte) ('0' + e % 10);
+        return i;
+    }
+
+    private static int append(byte[] text, byte[] bytes, int offset) {
+        System.arraycopy(text, 0, bytes, offset, text.length);
+        return offset + text.length;
+    }
+
+    /**
+     * floor(log10(2<sup>e</sup>)), pour |e| ≤ 5456721.
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * floor(log10(3/4 × 2<sup>e</sup>)), pour |e| ≤ 2500776.
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    /**
+     * floor(log2(10<sup>e</sup>)), pour |e| ≤ 1838394.
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
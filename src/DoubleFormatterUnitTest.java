@@ -0,0 +1,87 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests unitaires pour DoubleFormatter.
+ * Chaque valeur est comparée, caractère par caractère, au texte de Double.toString,
+ * sur des cas particuliers puis sur de grands échantillons aléatoires.
+ */
+public class DoubleFormatterUnitTest {
+
+    private static final int SAMPLES = 200_000;
+
+    /**
+     * Teste les valeurs spéciales, les limites de l'intervalle et les changements de notation.
+     */
+    @Test
+    public void testSpecialValues() {
+        double[] values = {
+                0.0, -0.0, 1, -1, 0.1, 0.2, 0.3, 100, 1e7, 9999999, 9999999.999, 1e-3, 9.999999999999999e-4,
+                1e22, 1e23, 1e100, 1e-100, 123456.789, 4.35, 2.0 / 3, 9007199254740992.0, 9007199254740993.0,
+                Double.MIN_VALUE, 2 * Double.MIN_VALUE, 3 * Double.MIN_VALUE, Double.MIN_NORMAL, Math.nextDown(Double.MIN_NORMAL),
+                Double.MAX_VALUE, -Double.MAX_VALUE, Math.PI, Math.E, 0x1p-1022, 0x1p1023, 0x1p-1074,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        for (double value : values) {
+            assertSameAsJdk(value);
+            assertSameAsJdk(Math.nextUp(value));
+            assertSameAsJdk(Math.nextDown(value));
+        }
+        assertEquals(DoubleFormatter.MAX_LENGTH, DoubleFormatter.toString(-2.2250738585072014E-308).length());
+    }
+
+    /**
+     * Teste l'écriture à partir d'un indice au milieu du tableau.
+     */
+    @Test
+    public void testOffset() {
+        byte[] bytes = "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxx".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(7, DoubleFormatter.format(-12.5, bytes, 2));
+        assertEquals("xx-12.5", new String(bytes, 0, 7, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Teste des doubles tirés au hasard dans tout l'intervalle.
+     */
+    @Test
+    public void testRandomBits() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertSameAsJdk(Double.longBitsToDouble(random.nextLong()));
+        }
+    }
+
+    /**
+     * Teste les puissances de deux, dont l'intervalle d'arrondi est dissymétrique, et les sous-normaux.
+     */
+    @Test
+    public void testPowersOfTwoAndSubnormals() {
+        for (int e = -1074; e <= 1023; e++) {
+            assertSameAsJdk(Math.scalb(1.0, e));
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            assertSameAsJdk(Double.longBitsToDouble(random.nextLong() & 0x000FFFFFFFFFFFFFL));
+        }
+    }
+
+    /**
+     * Teste des résultats typiques : quotients de petits entiers et valeurs décimales courtes.
+     */
+    @Test
+    public void testShortDecimals() {
+        Random random = new Random(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertSameAsJdk((double) random.nextInt(1_000_000) / (1 + random.nextInt(1000)));
+            assertSameAsJdk(random.nextInt(100_000) * Math.pow(10, random.nextInt(40) - 20));
+        }
+    }
+
+    private static void assertSameAsJdk(double value) {
+        assertEquals(Double.toString(value), DoubleFormatter.toString(value));
+    }
+}
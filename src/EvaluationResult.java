@@ -0,0 +1,116 @@
+/**
+ * Le résultat d'une évaluation sans exception (voir RPNEvaluator) : un code de statut,
+ * la valeur calculée en cas de succès, et la plage du token fautif en cas d'erreur.
+ * Une instance est mutable et destinée à être réutilisée d'une évaluation à l'autre,
+ * afin qu'une expression invalide ne coûte ni exception ni allocation.
+ */
+public final class EvaluationResult {
+
+    /** L'évaluation a réussi. */
+    public static final int OK = 0;
+    /** L'expression est vide ou contient un token invalide (équivalent de ParseException). */
+    public static final int PARSE_ERROR = 1;
+    /** Une opération manque d'opérandes (équivalent de NotEnoughOperandsOnStackException). */
+    public static final int NOT_ENOUGH_OPERANDS = 2;
+    /** Une division par zéro a été tentée (équivalent de DivideByZeroException). */
+    public static final int DIVIDE_BY_ZERO = 3;
+
+    private int status;
+    private double value;
+    private int errorStart;
+    private int errorEnd;
+
+    /**
+     * Retourne le statut de la dernière évaluation.
+     *
+     * @return OK, PARSE_ERROR, NOT_ENOUGH_OPERANDS ou DIVIDE_BY_ZERO.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Indique si la dernière évaluation a réussi.
+     *
+     * @return {@code true} si le statut est OK.
+     */
+    public boolean isSuccess() {
+        return status == OK;
+    }
+
+    /**
+     * Retourne la valeur calculée.
+     *
+     * @return La valeur au sommet de la pile, ou NaN si l'évaluation a échoué.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Retourne la position du premier caractère du token fautif.
+     *
+     * @return L'indice de début du token, ou -1 s'il est inconnu.
+     */
+    public int getErrorStart() {
+        return errorStart;
+    }
+
+    /**
+     * Retourne la position suivant le dernier caractère du token fautif.
+     *
+     * @return L'indice de fin (exclu) du token, ou -1 s'il est inconnu.
+     */
+    public int getErrorEnd() {
+        return errorEnd;
+    }
+
+    /**
+     * Retourne le message d'erreur, identique à celui de l'exception correspondante.
+     * Cette méthode alloue une chaîne et n'est destinée qu'à l'affichage.
+     *
+     * @param expression L'expression évaluée, pour citer le token invalide.
+     * @return Le message, ou {@code null} si l'évaluation a réussi.
+     */
+    public String getMessage(CharSequence expression) {
+        return switch (status) {
+            case OK -> null;
+            case PARSE_ERROR -> errorEnd > errorStart
+                    ? "Invalid token: " + expression.subSequence(errorStart, errorEnd)
+                    : "Empty expression";
+            case NOT_ENOUGH_OPERANDS -> "Not enough operands on stack for the operation.";
+            case DIVIDE_BY_ZERO -> "Cannot divide by zero.";
+            default -> throw new IllegalStateException("Unknown status: " + status);
+        };
+    }
+
+    /**
+     * Enregistre un succès.
+     *
+     * @param value La valeur calculée.
+     * @return Le statut OK.
+     */
+    int success(double value) {
+        this.status = OK;
+        this.value = value;
+        this.errorStart = -1;
+        this.errorEnd = -1;
+        return OK;
+    }
+
+    /**
+     * Enregistre un échec.
+     *
+     * @param status Le statut d'erreur.
+     * @param errorStart La position de début du token fautif, ou -1.
+     * @param errorEnd La position de fin du token fautif, ou -1.
+     * @return Le statut d'erreur.
+     */
+    int failure(int status, int errorStart, int errorEnd) {
+        this.status = status;
+        this.value = Double.NaN;
+        this.errorStart = errorStart;
+        this.errorEnd = errorEnd;
+        return status;
+    }
+}
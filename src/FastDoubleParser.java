@@ -0,0 +1,273 @@
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Un convertisseur de littéraux décimaux en {@code double}, correctement arrondi, qui lit
+ * directement une plage de CharSequence ou de {@code byte[]} (ASCII) sans créer de chaîne.
+ * Les littéraux acceptés sont exactement ceux de {@link Double#parseDouble(String)}.
+ * <ul>
+ * <li>Les littéraux décimaux (signe, chiffres, partie décimale, exposant) sont réduits à une mantisse
+ * de 19 chiffres au plus et une puissance de dix, puis convertis par la méthode de Clinger lorsque
+ * les deux sont exactement représentables, sinon par l'algorithme d'Eisel et Lemire : un produit
+ * sur 128 bits de la mantisse par une approximation tronquée de 5<sup>q</sup>.</li>
+ * <li>{@code Infinity} et {@code NaN}, éventuellement signés, sont reconnus directement.</li>
+ * <li>Les cas que cet algorithme ne sait pas trancher (produit ambigu, mantisse tronquée dont
+ * l'arrondi dépend des chiffres ignorés), ainsi que les autres formes acceptées par le JDK
+ * (hexadécimal, suffixes {@code d} et {@code f}), sont confiés à {@code Double.parseDouble}.</li>
+ * </ul>
+ * La table des puissances de cinq est calculée une fois, avec BigInteger, au chargement de la classe.
+ */
+public final class FastDoubleParser {
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final int MANTISSA_BITS = 52;
+    private static final int MINIMUM_EXPONENT = -1023;
+    private static final int INFINITE_POWER = 0x7FF;
+    private static final int MAX_DIGITS = 19;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_EXACT_POWER = 22;
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+
+    /**
+     * Pour chaque q de SMALLEST_POWER_OF_TEN à LARGEST_POWER_OF_TEN, les 128 bits de poids fort
+     * de 5<sup>q</sup> normalisé (bit 127 à 1) : mot haut puis mot bas.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i <= MAX_EXACT_POWER; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                // 5^q tronqué à 128 bits.
+                BigInteger power = BigInteger.valueOf(5).pow(q);
+                int shift = 128 - power.bitLength();
+                value = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            } else {
+                // 2^b / 5^-q arrondi par excès, puis tronqué à 128 bits.
+                BigInteger power = BigInteger.valueOf(5).pow(-q);
+                int z = power.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            POWERS_OF_FIVE[index] = value.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = value.longValue();
+        }
+    }
+
+    private FastDoubleParser() {
+    }
+
+    /**
+     * Convertit la plage [start, end) d'une séquence de caractères.
+     *
+     * @param s La séquence contenant le littéral.
+     * @param start L'indice du premier caractère du littéral.
+     * @param end L'indice suivant le dernier caractère du littéral.
+     * @return La valeur {@code double} la plus proche du littéral.
+     * @throws NumberFormatException Si la plage n'est pas un littéral accepté par Double.parseDouble.
+     */
+    public static double parseDouble(CharSequence s, int start, int end) {
+        return parse(s, null, start, end);
+    }
+
+    /**
+     * Convertit la plage [start, end) d'un tableau d'octets ASCII.
+     *
+     * @param bytes Le tableau contenant le littéral.
+     * @param start L'indice du premier octet du littéral.
+     * @param end L'indice suivant le dernier octet du littéral.
+     * @return La valeur {@code double} la plus proche du littéral.
+     * @throws NumberFormatException Si la plage n'est pas un littéral accepté par Double.parseDouble.
+     */
+    public static double parseDouble(byte[] bytes, int start, int end) {
+        return parse(null, bytes, start, end);
+    }
+
+    /**
+     * Analyse le littéral lu dans {@code s} ou, si elle est nulle, dans {@code bytes}.
+     */
+    private static double parse(CharSequence s, byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (charAt(s, bytes, i) == '-' || charAt(s, bytes, i) == '+')) {
+            negative = charAt(s, bytes, i) == '-';
+            i++;
+        }
+
+        // Jusqu'à 19 chiffres : la mantisse peut dépasser Long.MAX_VALUE et se lit alors comme non signée.
+        long mantissa = 0;
+        long exponent = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        boolean truncated = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            int c = charAt(s, bytes, i);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            digits++;
+            int digit = c - '0';
+            if (mantissa == 0 && digit == 0) {
+                exponent -= fraction ? 1 : 0;
+            } else if (significantDigits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + digit;
+                significantDigits++;
+                exponent -= fraction ? 1 : 0;
+            } else {
+                exponent += fraction ? 0 : 1;
+                truncated |= digit != 0;
+            }
+        }
+        if (digits == 0) {
+            if (matches(s, bytes, i, end, "Infinity")) {
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            if (matches(s, bytes, i, end, "NaN")) {
+                return Double.NaN;
+            }
+            return fallback(s, bytes, start, end);
+        }
+        if (i < end && (charAt(s, bytes, i) == 'e' || charAt(s, bytes, i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (charAt(s, bytes, i) == '-' || charAt(s, bytes, i) == '+')) {
+                negativeExponent = charAt(s, bytes, i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            long explicitExponent = 0;
+            for (; i < end && charAt(s, bytes, i) >= '0' && charAt(s, bytes, i) <= '9'; i++) {
+                // Au-delà, le résultat est de toute façon nul ou infini.
+                explicitExponent = Math.min(explicitExponent * 10 + charAt(s, bytes, i) - '0', 1L << 40);
+            }
+            if (i == exponentStart) {
+                return fallback(s, bytes, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end) {
+            return fallback(s, bytes, start, end);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (!truncated && Long.compareUnsigned(mantissa, MAX_EXACT_MANTISSA) <= 0 && exponent >= -MAX_EXACT_POWER && exponent <= MAX_EXACT_POWER) {
+            double value = mantissa;
+            value = exponent < 0 ? value / POWERS_OF_TEN[(int) -exponent] : value * POWERS_OF_TEN[(int) exponent];
+            return negative ? -value : value;
+        }
+        long bits = eiselLemire(mantissa, exponent);
+        // Une mantisse tronquée est comprise entre mantissa et mantissa + 1 : si les deux bornes
+        // donnent le même double, c'est le bon ; sinon, l'arrondi dépend des chiffres ignorés.
+        if (bits < 0 || truncated && eiselLemire(mantissa + 1, exponent) != bits) {
+            return fallback(s, bytes, start, end);
+        }
+        double value = Double.longBitsToDouble(bits);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Calcule les bits du double le plus proche de w × 10<sup>q</sup>, pour w non nul.
+     *
+     * @return Les bits du double positif, ou -1 si le produit tronqué ne permet pas de trancher.
+     */
+    static long eiselLemire(long w, long q) {
+        if (q < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+        int index = 2 * (int) (q - SMALLEST_POWER_OF_TEN);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // Les 9 bits sous les 55 bits utiles sont tous à 1 : le mot bas de 5^q peut produire une retenue.
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        if (low == -1L && (q < -27 || q > 55)) {
+            return -1;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = (int) (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros - MINIMUM_EXPONENT;
+        if (power2 <= 0) {
+            // Résultat sous-normal.
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+            return (long) power2 << MANTISSA_BITS | mantissa;
+        }
+        // Exactement à mi-chemin entre deux doubles : arrondi au pair.
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        return (long) power2 << MANTISSA_BITS | mantissa;
+    }
+
+    private static int charAt(CharSequence s, byte[] bytes, int index) {
+        return s != null ? s.charAt(index) : bytes[index] & 0xFF;
+    }
+
+    private static boolean matches(CharSequence s, byte[] bytes, int start, int end, String text) {
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (charAt(s, bytes, i) != text.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chemin de repli : confie la plage à Double.parseDouble.
+     */
+    private static double fallback(CharSequence s, byte[] bytes, int start, int end) {
+        String text = s != null
+                ? s.subSequence(start, end).toString()
+                : new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        return Double.parseDouble(text);
+    }
+}
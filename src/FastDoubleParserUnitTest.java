@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests unitaires pour FastDoubleParser.
+ * Chaque littéral est comparé, au bit près, au résultat de Double.parseDouble, y compris
+ * pour les littéraux refusés, sur des cas particuliers puis sur de grands échantillons aléatoires.
+ */
+public class FastDoubleParserUnitTest {
+
+    private static final int SAMPLES = 100_000;
+
+    /**
+     * Teste les formes particulières et les limites de l'intervalle des doubles.
+     */
+    @Test
+    public void testSpecialLiterals() {
+        String[] literals = {
+                "0", "-0", "+0", "0.0", "-0.0e10", "1", "-1", "+1.5", ".5", "5.", "1e10", "1E-10", "1e+5",
+                "Infinity", "-Infinity", "+Infinity", "NaN", "-NaN", "+NaN",
+                "0x1p3", "0x1.8p-2", "1d", "1.5f", "2D", " 1", "1 ",
+                "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "2.2250738585072011e-308",
+                "2.2250738585072014e-308", "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308",
+                "1e308", "1e309", "1e-324", "1e-400", "1e400", "123456789012345678901234567890e-10",
+                "9007199254740993", "9007199254740992.5", "9999999999999999999", "18446744073709551615",
+                "0.1", "0.2", "0.3", "3.141592653589793238462643383279", "0.000000000000000000000000000001",
+                "1e99999999999", "1e-99999999999", "0e99999999999", "7.0e-10", "1.00000000000000011102230246251565404236316680908203125",
+                "1.00000000000000011102230246251565404236316680908203124", "1.00000000000000011102230246251565404236316680908203126"
+        };
+        for (String literal : literals) {
+            assertSameAsJdk(literal);
+        }
+    }
+
+    /**
+     * Teste que les littéraux invalides sont refusés, comme par Double.parseDouble.
+     */
+    @Test
+    public void testInvalidLiterals() {
+        String[] literals = {"", "-", "+", ".", "e5", "1e", "1e+", "1..2", "--1", "1.2.3", "abc", "Inf", "nan", "1x", "0x", "1e5.5"};
+        for (String literal : literals) {
+            assertThrows(NumberFormatException.class, () -> FastDoubleParser.parseDouble(literal, 0, literal.length()), literal);
+            byte[] bytes = literal.getBytes(StandardCharsets.US_ASCII);
+            assertThrows(NumberFormatException.class, () -> FastDoubleParser.parseDouble(bytes, 0, bytes.length), literal);
+        }
+    }
+
+    /**
+     * Teste la lecture d'une plage au milieu d'une séquence plus longue.
+     */
+    @Test
+    public void testRange() {
+        String text = "x-12.5e-1y";
+        assertEquals(-1.25, FastDoubleParser.parseDouble(text, 1, 9));
+        assertEquals(-1.25, FastDoubleParser.parseDouble(text.getBytes(StandardCharsets.US_ASCII), 1, 9));
+    }
+
+    /**
+     * Teste l'écriture la plus courte (Double.toString) de doubles tirés au hasard dans tout l'intervalle.
+     */
+    @Test
+    public void testRandomDoubles() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(value)) {
+                assertSameAsJdk(Double.toString(value));
+            }
+        }
+    }
+
+    /**
+     * Teste des littéraux décimaux aléatoires : jusqu'à 25 chiffres, point et exposant quelconques.
+     */
+    @Test
+    public void testRandomDecimals() {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SAMPLES; i++) {
+            sb.setLength(0);
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            int digits = 1 + random.nextInt(25);
+            int dot = random.nextInt(digits + 1);
+            for (int d = 0; d < digits; d++) {
+                if (d == dot) {
+                    sb.append('.');
+                }
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextInt(4) != 0) {
+                sb.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(700) - 350);
+            }
+            assertSameAsJdk(sb.toString());
+        }
+    }
+
+    /**
+     * Teste les cas les plus difficiles : les milieux exacts entre deux doubles voisins,
+     * normaux ou sous-normaux, et leurs voisins immédiats, écrits avec tous leurs chiffres
+     * ou tronqués à 17 à 20 chiffres significatifs.
+     */
+    @Test
+    public void testHalfwayCases() {
+        Random random = new Random(1234);
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            long bits = random.nextBoolean()
+                    ? random.nextLong() & 0x7FEFFFFFFFFFFFFFL
+                    : random.nextLong() & 0x000FFFFFFFFFFFFFL;
+            double value = Double.longBitsToDouble(bits);
+            BigDecimal low = new BigDecimal(value);
+            BigDecimal high = new BigDecimal(Math.nextUp(value));
+            BigDecimal middle = low.add(high).divide(BigDecimal.valueOf(2));
+            BigDecimal epsilon = BigDecimal.ONE.movePointLeft(middle.scale() + 1);
+            assertSameAsJdk(middle.toString());
+            assertSameAsJdk(middle.add(epsilon).toString());
+            assertSameAsJdk(middle.subtract(epsilon).toString());
+            assertSameAsJdk(middle.round(new MathContext(17 + random.nextInt(4))).toString());
+        }
+    }
+
+    /**
+     * Vérifie que les deux variantes de FastDoubleParser rendent les mêmes bits que Double.parseDouble.
+     */
+    private static void assertSameAsJdk(String literal) {
+        double expected;
+        try {
+            expected = Double.parseDouble(literal);
+        } catch (NumberFormatException e) {
+            assertThrows(NumberFormatException.class, () -> FastDoubleParser.parseDouble(literal, 0, literal.length()), literal);
+            return;
+        }
+        assertEquals(Double.doubleToRawLongBits(expected),
+                Double.doubleToRawLongBits(FastDoubleParser.parseDouble(literal, 0, literal.length())), literal);
+        byte[] bytes = literal.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Double.doubleToRawLongBits(expected),
+                Double.doubleToRawLongBits(FastDoubleParser.parseDouble(bytes, 0, bytes.length)), literal);
+    }
+}
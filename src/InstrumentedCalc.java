@@ -0,0 +1,129 @@
+/**
+ * Un décorateur de Calc qui compte chaque appel d'opération, ainsi que ceux qui lèvent une exception,
+ * dans un RPNMetrics. Le surcoût se limite à un ou deux incréments de LongAdder par opération.
+ */
+public class InstrumentedCalc implements Calc {
+
+    private final Calc delegate;
+    private final RPNMetrics metrics;
+
+    /**
+     * Construit un décorateur autour d'une calculatrice.
+     *
+     * @param delegate La calculatrice qui effectue les opérations.
+     * @param metrics Les métriques à alimenter.
+     */
+    public InstrumentedCalc(Calc delegate, RPNMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Ajoute une valeur à la pile et compte l'appel.
+     *
+     * @param value La valeur à ajouter.
+     */
+    @Override
+    public void enterValue(double value) {
+        metrics.operation(RPNMetrics.ENTER_VALUE);
+        delegate.enterValue(value);
+    }
+
+    /**
+     * Effectue une addition et compte l'appel.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void add() throws NotEnoughOperandsOnStackException {
+        metrics.operation(RPNMetrics.ADD);
+        try {
+            delegate.add();
+        } catch (NotEnoughOperandsOnStackException e) {
+            metrics.operationFailure(RPNMetrics.ADD);
+            throw e;
+        }
+    }
+
+    /**
+     * Effectue une soustraction et compte l'appel.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void subtract() throws NotEnoughOperandsOnStackException {
+        metrics.operation(RPNMetrics.SUBTRACT);
+        try {
+            delegate.subtract();
+        } catch (NotEnoughOperandsOnStackException e) {
+            metrics.operationFailure(RPNMetrics.SUBTRACT);
+            throw e;
+        }
+    }
+
+    /**
+     * Effectue une multiplication et compte l'appel.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void multiply() throws NotEnoughOperandsOnStackException {
+        metrics.operation(RPNMetrics.MULTIPLY);
+        try {
+            delegate.multiply();
+        } catch (NotEnoughOperandsOnStackException e) {
+            metrics.operationFailure(RPNMetrics.MULTIPLY);
+            throw e;
+        }
+    }
+
+    /**
+     * Effectue une division et compte l'appel.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     * @throws DivideByZeroException Si une tentative de division par zéro est détectée.
+     */
+    @Override
+    public void divide() throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        metrics.operation(RPNMetrics.DIVIDE);
+        try {
+            delegate.divide();
+        } catch (NotEnoughOperandsOnStackException | DivideByZeroException e) {
+            metrics.operationFailure(RPNMetrics.DIVIDE);
+            throw e;
+        }
+    }
+
+    /**
+     * Effectue une multiplication-addition et compte l'appel.
+     *
+     * @throws NotEnoughOperandsOnStackException Si la pile ne contient pas assez d'opérandes.
+     */
+    @Override
+    public void multiplyAdd() throws NotEnoughOperandsOnStackException {
+        metrics.operation(RPNMetrics.MULTIPLY_ADD);
+        try {
+            delegate.multiplyAdd();
+        } catch (NotEnoughOperandsOnStackException e) {
+            metrics.operationFailure(RPNMetrics.MULTIPLY_ADD);
+            throw e;
+        }
+    }
+
+    /**
+     * Renvoie la valeur au sommet de la pile et compte l'appel.
+     *
+     * @return La valeur au sommet de la pile.
+     * @throws NotEnoughOperandsOnStackException Si la pile est vide.
+     */
+    @Override
+    public double displayValueOnTop() throws NotEnoughOperandsOnStackException {
+        metrics.operation(RPNMetrics.DISPLAY_VALUE_ON_TOP);
+        try {
+            return delegate.displayValueOnTop();
+        } catch (NotEnoughOperandsOnStackException e) {
+            metrics.operationFailure(RPNMetrics.DISPLAY_VALUE_ON_TOP);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.text.ParseException;
+
+/**
+ * Un décorateur de RPNParser qui mesure chaque évaluation dans un RPNMetrics : latence (dans un
+ * LatencyHistogram), nombre de tokens et type d'erreur éventuel. Les compilations sont comptées,
+ * échecs compris, avec le nombre de tokens de leur expression.
+ * Le décorateur est thread-safe si le parseur délégué l'est ; pour compter aussi les opérations
+ * arithmétiques, le parseur délégué peut être construit sur un InstrumentedCalc partageant les mêmes métriques.
+ */
+public class InstrumentedRPNParser implements RPNParser {
+
+    private final RPNParser delegate;
+    private final RPNMetrics metrics;
+
+    /**
+     * Construit un décorateur autour d'un parseur.
+     *
+     * @param delegate Le parseur qui effectue les évaluations.
+     * @param metrics Les métriques à alimenter.
+     */
+    public InstrumentedRPNParser(RPNParser delegate, RPNMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Évalue l'expression avec le parseur délégué et enregistre sa latence, ses tokens et son erreur éventuelle.
+     *
+     * @param toParse La chaîne en notation RPN à analyser.
+     * @return Le résultat de l'évaluation de l'expression RPN.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si la chaîne contient des tokens non valides.
+     */
+    @Override
+    public double parseAndDisplayResult(String toParse) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        long start = System.nanoTime();
+        try {
+            return delegate.parseAndDisplayResult(toParse);
+        } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+            metrics.evaluationError(e);
+            throw e;
+        } finally {
+            metrics.evaluation(countTokens(toParse), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Compile l'expression avec le parseur délégué et enregistre ses tokens et son échec éventuel.
+     *
+     * @param toParse La chaîne en notation RPN à compiler.
+     * @return Le programme compilé.
+     * @throws ParseException Si la chaîne contient des tokens non valides.
+     */
+    @Override
+    public RPNProgram compile(String toParse) throws ParseException {
+        try {
+            return delegate.compile(toParse);
+        } catch (ParseException e) {
+            metrics.compilationError();
+            throw e;
+        } finally {
+            metrics.compilation(countTokens(toParse));
+        }
+    }
+
+    /**
+     * Compte les tokens d'une expression, séparés comme pour RPNTokenizer, sans allouer.
+     */
+    static int countTokens(CharSequence expression) {
+        int count = 0;
+        boolean inToken = false;
+        for (int i = 0; i < expression.length(); i++) {
+            boolean whitespace = RPNTokenizer.isWhitespace(expression.charAt(i));
+            if (!whitespace && !inToken) {
+                count++;
+            }
+            inToken = !whitespace;
+        }
+        return count;
+    }
+}
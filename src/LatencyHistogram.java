@@ -0,0 +1,143 @@
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Un histogramme de durées, en nanosecondes, utilisable depuis plusieurs threads sans verrou.
+ * Les valeurs sont rangées dans des intervalles log-linéaires : chaque puissance de deux est
+ * découpée en huit intervalles de même largeur, soit une précision relative d'environ 12 %
+ * sur toute la plage des {@code long}. Chaque intervalle est un LongAdder, de sorte qu'un
+ * enregistrement ne coûte qu'un calcul d'indice et un incrément sans contention.
+ * Les percentiles retournés sont la borne supérieure de l'intervalle concerné.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Construit un histogramme vide.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enregistre une durée.
+     *
+     * @param nanos La durée en nanosecondes ; une valeur négative est comptée comme nulle.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)].increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Retourne le nombre de durées enregistrées.
+     *
+     * @return Le nombre d'enregistrements.
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : counts) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retourne la durée moyenne.
+     *
+     * @return La moyenne en nanosecondes, ou 0 si rien n'a été enregistré.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+
+    /**
+     * Retourne la plus longue durée enregistrée.
+     *
+     * @return Le maximum exact en nanosecondes.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Retourne une estimation du percentile demandé.
+     *
+     * @param percentile Le percentile, entre 0 et 100 (par exemple 99.9).
+     * @return La borne supérieure de l'intervalle contenant ce percentile, en nanosecondes,
+     *         ou 0 si rien n'a été enregistré.
+     * @throws IllegalArgumentException Si le percentile n'est pas compris entre 0 et 100.
+     */
+    public long getPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Remet l'histogramme à zéro. Les enregistrements concurrents peuvent être partiellement conservés.
+     */
+    public void reset() {
+        for (LongAdder bucket : counts) {
+            bucket.reset();
+        }
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Calcule l'intervalle d'une valeur : les valeurs inférieures à SUB_BUCKETS ont chacune le leur,
+     * les suivantes sont rangées selon leur puissance de deux et leurs trois bits suivants.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Retourne la plus grande valeur rangée dans un intervalle.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long bound = ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        return bound < 0 ? Long.MAX_VALUE : bound;
+    }
+}
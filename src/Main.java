@@ -1,17 +1,72 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Scanner;
 
 /**
  * Point d'entrée principal pour une application de calculatrice en notation polonaise inversée (RPN).
  * Cette application lit les expressions RPN de l'utilisateur, les évalue et affiche les résultats.
  * L'utilisateur peut quitter l'application en tapant '.exit'.
+ * L'option '--stack=array' remplace StackImpl par la pile primitive DoubleArrayStackImpl.
+ * L'option '--file in.rpn [--out results.txt]' évalue un fichier entier, une expression par ligne,
+ * et écrit les résultats dans le fichier de sortie (ou sur la sortie standard).
+ * L'option '--server [--port 7070] [--http-port 8080]' démarre un RPNServer sur l'interface locale
+ * au lieu de lire l'entrée standard.
+ * Lorsque l'entrée standard n'est pas une console (par exemple 'cat exprs.txt | java Main'), ou avec
+ * l'option '--quiet', l'application passe en mode tube : aucune invite n'est affichée, les résultats
+ * sont écrits par paquets et chaque erreur produit une ligne 'ERROR message'. L'option '--precision n'
+ * y écrit chaque résultat avec n décimales au lieu de sa plus courte écriture.
+ * En mode interactif comme en mode tube, l'option '--snapshot pile.rpns [--checkpoint-interval 60]'
+ * restaure la pile depuis ce fichier au démarrage s'il existe, l'y enregistre en arrière-plan toutes
+ * les n secondes, puis une dernière fois à l'arrêt. La pile est alors toujours une DoubleArrayStackImpl,
+ * restaurée et enregistrée par copies de tableaux : une StackImpl créerait un Double par valeur restaurée.
  */
 public class Main {
     private static final String EXIT_COMMAND = ".exit";
+    private static final String ARRAY_STACK_OPTION = "--stack=array";
+    private static final String FILE_OPTION = "--file";
+    private static final String OUT_OPTION = "--out";
+    private static final String SERVER_OPTION = "--server";
+    private static final String PORT_OPTION = "--port";
+    private static final String HTTP_PORT_OPTION = "--http-port";
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String PRECISION_OPTION = "--precision";
+    private static final String SNAPSHOT_OPTION = "--snapshot";
+    private static final String CHECKPOINT_INTERVAL_OPTION = "--checkpoint-interval";
+    private static final int PIPE_BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_PORT = 7070;
+    private static final int DEFAULT_HTTP_PORT = 8080;
+    private static final int DEFAULT_CHECKPOINT_INTERVAL_SECONDS = 60;
+
     public static void main(String[] args) {
-        StackImpl stack = new StackImpl();
+        Stack stack = createStack(args);
+        String inputFile = optionValue(args, FILE_OPTION);
+        if (inputFile != null) {
+            System.exit(runBatch(stack, inputFile, optionValue(args, OUT_OPTION)));
+        }
+        if (hasOption(args, SERVER_OPTION)) {
+            System.exit(runServer(args));
+        }
+
         CalcImpl calc = new CalcImpl(stack);
         RPNParserImpl parser = new RPNParserImpl(calc);
+        StackCheckpointer checkpointer = null;
+        String snapshotFile = optionValue(args, SNAPSHOT_OPTION);
+        if (snapshotFile != null) {
+            checkpointer = startCheckpoints(stack, parser, snapshotFile, optionValue(args, CHECKPOINT_INTERVAL_OPTION));
+            if (checkpointer == null) {
+                System.exit(1);
+            }
+        }
+        if (System.console() == null || hasOption(args, QUIET_OPTION)) {
+            int status = runPipe(parser, optionValue(args, PRECISION_OPTION));
+            System.exit(stopCheckpoints(checkpointer, status));
+        }
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("RPN Calc");
@@ -27,7 +82,10 @@ public class Main {
             }
 
             try {
-                double result = parser.parseAndDisplayResult(input);
+                double result;
+                synchronized (parser) {
+                    result = parser.parseAndDisplayResult(input);
+                }
                 System.out.println(result);
             } catch (NotEnoughOperandsOnStackException e) {
                 System.out.println("Not enough operands, Try again or type '.exit' to quit");
@@ -39,5 +97,211 @@ public class Main {
         }
 
         scanner.close();
+        System.exit(stopCheckpoints(checkpointer, 0));
+    }
+
+    /**
+     * Évalue un fichier d'expressions en mode batch et affiche le bilan sur la sortie d'erreur.
+     *
+     * @param stack La pile à utiliser.
+     * @param inputFile Le fichier d'expressions.
+     * @param outputFile Le fichier de résultats, ou {@code null} pour la sortie standard.
+     * @return Le code de sortie du processus : 0 si le fichier a pu être traité, sinon 1.
+     */
+    private static int runBatch(Stack stack, String inputFile, String outputFile) {
+        BatchFileEvaluator evaluator = new BatchFileEvaluator(stack);
+        try {
+            BatchFileEvaluator.Summary summary = outputFile == null
+                    ? evaluator.evaluate(Path.of(inputFile), Channels.newChannel(System.out))
+                    : evaluator.evaluate(Path.of(inputFile), Path.of(outputFile));
+            System.err.println("Evaluated " + summary.lines() + " lines, " + summary.errors() + " errors");
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Batch evaluation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Évalue l'entrée standard en mode tube, sans invite, et écrit les résultats sur la sortie standard.
+     *
+     * @param parser Le parseur à utiliser ; sa pile est conservée d'une ligne à l'autre, comme en mode interactif.
+     * @param precision Le nombre de décimales des résultats, ou {@code null} pour leur plus courte écriture.
+     * @return Le code de sortie du processus : 0 si l'entrée a pu être lue, sinon 1.
+     */
+    private static int runPipe(RPNParserImpl parser, String precision) {
+        ResultWriter out;
+        try {
+            out = new ResultWriter(System.out, precision == null ? -1 : Integer.parseInt(precision));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid precision: " + precision);
+            return 1;
+        }
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in), PIPE_BUFFER_SIZE);
+        try {
+            evaluateLines(parser, in, out);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Pipe evaluation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Évalue chaque ligne jusqu'à la fin de l'entrée ou jusqu'à '.exit', et écrit une ligne par expression :
+     * le résultat, ou 'ERROR ' suivi du message de l'erreur. La sortie n'est vidée qu'à la fin.
+     *
+     * @param parser Le parseur à utiliser.
+     * @param in Les expressions, une par ligne.
+     * @param out Reçoit les résultats.
+     * @throws IOException En cas d'erreur de lecture ou d'écriture.
+     */
+    static void evaluateLines(RPNParserImpl parser, BufferedReader in, ResultWriter out) throws IOException {
+        String input;
+        while ((input = in.readLine()) != null && !input.trim().equalsIgnoreCase(EXIT_COMMAND)) {
+            try {
+                double result;
+                synchronized (parser) {
+                    result = parser.parseAndDisplayResult((CharSequence) input);
+                }
+                out.writeDouble(result);
+            } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+                out.write("ERROR ");
+                out.write(e.getMessage());
+            }
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    /**
+     * Restaure la pile depuis le fichier instantané s'il existe, puis démarre les instantanés périodiques.
+     * Ceux-ci lisent la pile sous le moniteur du parseur, que les boucles d'évaluation détiennent pour chaque ligne.
+     * Un dernier instantané est pris si le processus est arrêté sans passer par '.exit'.
+     *
+     * @param stack La pile à restaurer et à enregistrer.
+     * @param parser Le parseur qui modifie la pile.
+     * @param snapshotFile Le fichier instantané.
+     * @param interval L'intervalle entre deux instantanés, en secondes, ou {@code null} pour 60 secondes.
+     * @return Le StackCheckpointer démarré, ou {@code null} si le fichier existant n'a pas pu être restauré ;
+     *         il n'est alors pas écrasé.
+     */
+    private static StackCheckpointer startCheckpoints(Stack stack, RPNParserImpl parser, String snapshotFile, String interval) {
+        Path file = Path.of(snapshotFile);
+        StackCheckpointer checkpointer;
+        try {
+            if (Files.exists(file)) {
+                long start = System.nanoTime();
+                int restored = StackSnapshot.read(file, stack);
+                System.err.println("Restored " + restored + " values in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+            checkpointer = new StackCheckpointer(stack, parser, file, Duration.ofSeconds(
+                    interval == null ? DEFAULT_CHECKPOINT_INTERVAL_SECONDS : Long.parseLong(interval)));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot use snapshot: " + e.getMessage());
+            return null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stopCheckpoints(checkpointer, 0)));
+        return checkpointer;
+    }
+
+    /**
+     * Arrête les instantanés périodiques et prend le dernier instantané.
+     *
+     * @param checkpointer Le StackCheckpointer à arrêter, ou {@code null}.
+     * @param status Le code de sortie prévu.
+     * @return Le code de sortie du processus : {@code status}, ou 1 si le dernier instantané a échoué.
+     */
+    private static int stopCheckpoints(StackCheckpointer checkpointer, int status) {
+        if (checkpointer == null) {
+            return status;
+        }
+        try {
+            checkpointer.close();
+            return status;
+        } catch (IOException e) {
+            System.err.println("Final checkpoint failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Démarre un RPNServer et le laisse tourner jusqu'à l'arrêt du processus.
+     * Chaque connexion reçoit une pile du même type que celle choisie par '--stack'.
+     *
+     * @param args Les arguments passés à l'application.
+     * @return Le code de sortie du processus si le serveur n'a pas pu démarrer.
+     */
+    private static int runServer(String[] args) {
+        String port = optionValue(args, PORT_OPTION);
+        String httpPort = optionValue(args, HTTP_PORT_OPTION);
+        try {
+            RPNServer server = RPNServer.start(
+                    port == null ? DEFAULT_PORT : Integer.parseInt(port),
+                    httpPort == null ? DEFAULT_HTTP_PORT : Integer.parseInt(httpPort),
+                    () -> createStack(args));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    System.err.println("Server shutdown failed: " + e.getMessage());
+                }
+            }));
+            System.err.println("Listening on tcp port " + server.getTcpPort() + ", http port " + server.getHttpPort());
+            Thread.currentThread().join();
+            return 0;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Cannot start server: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Indique si une option sans valeur est présente dans les arguments de la ligne de commande.
+     *
+     * @param args Les arguments passés à l'application.
+     * @param option Le nom de l'option, par exemple '--server'.
+     * @return {@code true} si l'option est présente.
+     */
+    private static boolean hasOption(String[] args, String option) {
+        for (String arg : args) {
+            if (arg.equals(option)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne la valeur qui suit une option dans les arguments de la ligne de commande.
+     *
+     * @param args Les arguments passés à l'application.
+     * @param option Le nom de l'option, par exemple '--file'.
+     * @return La valeur de l'option, ou {@code null} si elle est absente.
+     */
+    private static String optionValue(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Choisit l'implémentation de Stack en fonction des arguments de la ligne de commande.
+     *
+     * @param args Les arguments passés à l'application.
+     * @return Une DoubleArrayStackImpl si '--stack=array' ou '--snapshot' est présent, sinon une StackImpl.
+     */
+    private static Stack createStack(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(ARRAY_STACK_OPTION) || arg.equals(SNAPSHOT_OPTION)) {
+                return new DoubleArrayStackImpl();
+            }
+        }
+        return new StackImpl();
     }
 }
@@ -0,0 +1,48 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour le mode tube de Main.
+ * Ces tests vérifient le format des lignes de sortie, résultats et erreurs.
+ */
+public class MainIntegrationTest {
+
+    /**
+     * Teste qu'une ligne est produite par expression, sans invite, avec des lignes d'erreur exploitables.
+     */
+    @Test
+    public void testEvaluateLines() throws IOException {
+        RPNParserImpl parser = new RPNParserImpl(new CalcImpl(new DoubleArrayStackImpl()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Main.evaluateLines(parser, new BufferedReader(new StringReader("1 2 +\n4 *\n5 0 /\n\n2 a *\n")), new ResultWriter(out));
+        assertEquals("3.0\n12.0\nERROR Cannot divide by zero.\nERROR Empty expression\nERROR Invalid token: a\n", out.toString());
+    }
+
+    /**
+     * Teste que la commande '.exit' termine la lecture.
+     */
+    @Test
+    public void testEvaluateLinesStopsAtExit() throws IOException {
+        RPNParserImpl parser = new RPNParserImpl(new CalcImpl(new StackImpl()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Main.evaluateLines(parser, new BufferedReader(new StringReader("1\n.exit\n2\n")), new ResultWriter(out));
+        assertEquals("1.0\n", out.toString());
+    }
+
+    /**
+     * Teste l'écriture des résultats avec un nombre fixe de décimales.
+     */
+    @Test
+    public void testEvaluateLinesWithPrecision() throws IOException {
+        RPNParserImpl parser = new RPNParserImpl(new CalcImpl(new DoubleArrayStackImpl()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Main.evaluateLines(parser, new BufferedReader(new StringReader("1 3 /\n2 *\n1 0 -\n")), new ResultWriter(out, 3));
+        assertEquals("0.333\n0.667\n1.000\n", out.toString());
+    }
+}
@@ -5,12 +5,61 @@
  * qu'il n'y en a actuellement sur la pile.
  */
 public class NotEnoughOperandsOnStackException extends Exception {
+    /**
+     * Indique si les exceptions créées par le constructeur par défaut capturent la pile d'appels.
+     * La propriété système {@code rpn.exceptions.stackless=true} les rend toutes sans pile d'appels.
+     */
+    private static final boolean WRITABLE_STACK_TRACE = !Boolean.getBoolean("rpn.exceptions.stackless");
+
+    private final int position;
+
     /**
      * Constructeur par défaut pour NotEnoughOperandsOnStackException.
-     * Initialise l'exception avec un message d'erreur par défaut.
+     * Initialise l'exception avec un message d'erreur par défaut ; la pile d'appels est capturée
+     * sauf si la propriété système {@code rpn.exceptions.stackless} vaut {@code true}.
      */
     public NotEnoughOperandsOnStackException() {
-        super("Not enough operands on stack for the operation.");
+        this(WRITABLE_STACK_TRACE);
+    }
+
+    /**
+     * Constructeur permettant de désactiver la capture de la pile d'appels, coûteuse lorsque
+     * l'exception est levée fréquemment.
+     *
+     * @param writableStackTrace {@code false} pour créer une exception sans pile d'appels.
+     */
+    public NotEnoughOperandsOnStackException(boolean writableStackTrace) {
+        this(-1, writableStackTrace);
+    }
+
+    /**
+     * Constructeur indiquant la position, dans l'expression, du token qui manque d'opérandes.
+     *
+     * @param position L'indice du premier caractère du token, ou -1 s'il est inconnu.
+     */
+    public NotEnoughOperandsOnStackException(int position) {
+        this(position, WRITABLE_STACK_TRACE);
+    }
+
+    /**
+     * Constructeur indiquant la position du token fautif et la capture ou non de la pile d'appels.
+     *
+     * @param position L'indice du premier caractère du token, ou -1 s'il est inconnu.
+     * @param writableStackTrace {@code false} pour créer une exception sans pile d'appels.
+     */
+    public NotEnoughOperandsOnStackException(int position, boolean writableStackTrace) {
+        super("Not enough operands on stack for the operation.", null, true, writableStackTrace);
+        this.position = position;
+    }
+
+    /**
+     * Retourne la position, dans l'expression, du token qui manque d'opérandes.
+     * Elle n'est connue que lorsque l'erreur est détectée par la vérification d'un RPNProgram.
+     *
+     * @return L'indice du premier caractère du token, ou -1 s'il est inconnu.
+     */
+    public int getPosition() {
+        return position;
     }
 }
 
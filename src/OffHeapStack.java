@@ -0,0 +1,275 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Une implémentation de l'interface Stack dont les valeurs résident hors du tas Java, dans des
+ * MemorySegment alloués par une Arena. Le ramasse-miettes ne voit qu'une poignée d'objets quelle
+ * que soit la taille de la pile : des centaines de millions d'opérandes n'allongent ni ne
+ * multiplient ses pauses, contrairement à StackImpl qui encapsule chaque valeur dans un {@code Double}.
+ * La pile grandit par blocs de taille fixe, sans jamais recopier les valeurs déjà empilées.
+ * Les blocs peuvent être projetés en mémoire depuis un fichier, de sorte que la pile dépasse
+ * la mémoire physique : le système pagine alors les blocs sur disque.
+ * La mémoire n'est rendue qu'à la fermeture, qui doit être explicite ({@link #close()}) ;
+ * toute utilisation ultérieure lève une IllegalStateException. La pile n'est pas thread-safe,
+ * mais peut être utilisée successivement par plusieurs threads.
+ */
+public class OffHeapStack implements Stack, AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_CAPACITY = 1 << 20;
+    private static final long DOUBLE_BYTES = ValueLayout.JAVA_DOUBLE.byteSize();
+
+    private final Arena arena = Arena.ofShared();
+    private final List<MemorySegment> chunks = new ArrayList<>();
+    private final int chunkCapacity;
+    private final FileChannel channel;
+    private MemorySegment chunk;
+    private int chunkIndex;
+    private int offset;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Construit une pile en mémoire native, par blocs d'un million de valeurs (8 Mio).
+     */
+    public OffHeapStack() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Construit une pile en mémoire native.
+     *
+     * @param chunkCapacity Le nombre de valeurs de chaque bloc.
+     * @throws IllegalArgumentException Si la taille des blocs est négative ou nulle.
+     */
+    public OffHeapStack(int chunkCapacity) {
+        this(chunkCapacity, null);
+    }
+
+    /**
+     * Construit une pile projetée en mémoire depuis un fichier. Le fichier est créé ou tronqué,
+     * s'agrandit d'un bloc à la fois et n'est pas supprimé à la fermeture.
+     *
+     * @param file Le fichier support des blocs.
+     * @param chunkCapacity Le nombre de valeurs de chaque bloc.
+     * @throws IOException Si le fichier ne peut pas être ouvert.
+     * @throws IllegalArgumentException Si la taille des blocs est négative ou nulle.
+     */
+    public OffHeapStack(Path file, int chunkCapacity) throws IOException {
+        this(chunkCapacity, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    private OffHeapStack(int chunkCapacity, FileChannel channel) {
+        if (chunkCapacity <= 0) {
+            throw new IllegalArgumentException("Chunk capacity must be positive: " + chunkCapacity);
+        }
+        this.chunkCapacity = chunkCapacity;
+        this.channel = channel;
+        this.chunk = allocateChunk();
+    }
+
+    /**
+     * Vérifie si la pile est vide.
+     *
+     * @return {@code true} si la pile est vide, sinon {@code false}.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retourne la taille de la pile.
+     *
+     * @return La taille de la pile.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Ajoute un élément au sommet de la pile, en passant au bloc suivant si le bloc courant est plein.
+     *
+     * @param item L'élément à ajouter au sommet de la pile.
+     * @throws IllegalStateException Si la pile a été fermée.
+     */
+    @Override
+    public void push(double item) {
+        if (offset == chunkCapacity) {
+            if (size == Integer.MAX_VALUE) {
+                throw new OutOfMemoryError("Stack capacity exceeded");
+            }
+            nextChunk();
+        }
+        chunk.setAtIndex(ValueLayout.JAVA_DOUBLE, offset++, item);
+        size++;
+    }
+
+    /**
+     * Retourne l'élément au sommet de la pile sans le retirer.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     * @throws IllegalStateException Si la pile a été fermée.
+     */
+    @Override
+    public double peek() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        if (offset == 0) {
+            return chunks.get(chunkIndex - 1).getAtIndex(ValueLayout.JAVA_DOUBLE, chunkCapacity - 1);
+        }
+        return chunk.getAtIndex(ValueLayout.JAVA_DOUBLE, offset - 1);
+    }
+
+    /**
+     * Retire et retourne l'élément au sommet de la pile. Un bloc vidé reste alloué pour les ajouts suivants.
+     *
+     * @return L'élément au sommet de la pile.
+     * @throws EmptyStackException Si la pile est vide.
+     * @throws IllegalStateException Si la pile a été fermée.
+     */
+    @Override
+    public double pop() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        if (offset == 0) {
+            chunk = chunks.get(--chunkIndex);
+            offset = chunkCapacity;
+        }
+        size--;
+        return chunk.getAtIndex(ValueLayout.JAVA_DOUBLE, --offset);
+    }
+
+    /**
+     * Vide la pile en temps constant. Les blocs restent alloués jusqu'à la fermeture.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        offset = 0;
+        chunkIndex = 0;
+        chunk = chunks.get(0);
+    }
+
+    /**
+     * Ajoute plusieurs éléments au sommet de la pile, par une copie de tableau par bloc.
+     *
+     * @param values Le tableau contenant les éléments, du plus profond au sommet.
+     * @param offset L'indice du premier élément à ajouter.
+     * @param length Le nombre d'éléments à ajouter.
+     * @throws IllegalStateException Si la pile a été fermée.
+     */
+    @Override
+    public void pushAll(double[] values, int offset, int length) {
+        if (length > Integer.MAX_VALUE - size) {
+            throw new OutOfMemoryError("Stack capacity exceeded");
+        }
+        int end = offset + length;
+        while (offset < end) {
+            if (this.offset == chunkCapacity) {
+                nextChunk();
+            }
+            int count = Math.min(end - offset, chunkCapacity - this.offset);
+            MemorySegment.copy(values, offset, chunk, ValueLayout.JAVA_DOUBLE, this.offset * DOUBLE_BYTES, count);
+            this.offset += count;
+            size += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Copie plusieurs éléments de la pile sans la modifier, par une copie de tableau par bloc.
+     *
+     * @param index La position du plus profond des éléments copiés, 0 désignant le fond de la pile.
+     * @param destination Le tableau recevant les éléments, du plus profond au plus haut.
+     * @param offset L'indice où écrire le plus profond des éléments copiés.
+     * @param count Le nombre d'éléments à copier.
+     * @throws IndexOutOfBoundsException Si la plage ne se trouve pas dans la pile.
+     * @throws IllegalStateException Si la pile a été fermée.
+     */
+    @Override
+    public void copyTo(int index, double[] destination, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, size);
+        while (count > 0) {
+            int chunkOffset = index % chunkCapacity;
+            int copied = Math.min(count, chunkCapacity - chunkOffset);
+            MemorySegment.copy(chunks.get(index / chunkCapacity), ValueLayout.JAVA_DOUBLE, chunkOffset * DOUBLE_BYTES,
+                    destination, offset, copied);
+            index += copied;
+            offset += copied;
+            count -= copied;
+        }
+    }
+
+    /**
+     * Retourne le nombre de valeurs que la pile peut contenir sans allouer de nouveau bloc.
+     *
+     * @return La capacité des blocs déjà alloués.
+     */
+    public long getCapacity() {
+        return (long) chunks.size() * chunkCapacity;
+    }
+
+    /**
+     * Libère la mémoire native, ou retire la projection du fichier et le ferme.
+     * Les appels suivants sont sans effet.
+     *
+     * @throws IOException Si le fichier ne peut pas être fermé.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        arena.close();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Avance d'un bloc, en allouant le bloc suivant s'il n'a jamais servi.
+     */
+    private void nextChunk() {
+        chunkIndex++;
+        chunk = chunkIndex < chunks.size() ? chunks.get(chunkIndex) : allocateChunk();
+        offset = 0;
+    }
+
+    /**
+     * Alloue un bloc en mémoire native, ou le projette depuis la suite du fichier.
+     */
+    private MemorySegment allocateChunk() {
+        if (closed) {
+            throw new IllegalStateException("Stack is closed");
+        }
+        long bytes = chunkCapacity * DOUBLE_BYTES;
+        MemorySegment segment;
+        if (channel == null) {
+            segment = arena.allocate(bytes, DOUBLE_BYTES);
+        } else {
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * bytes, bytes, arena);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        chunks.add(segment);
+        return segment;
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour OffHeapStack.
+ * Elle rejoue l'ensemble de la suite StackIntegrationTest contre une pile à très petits blocs,
+ * afin que les changements de bloc soient exercés, puis vérifie la projection sur fichier et la fermeture.
+ */
+public class OffHeapStackIntegrationTest extends StackIntegrationTest {
+
+    private final List<OffHeapStack> stacks = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Fournit une pile hors tas par blocs de trois valeurs.
+     */
+    @Override
+    protected Stack createStack() {
+        OffHeapStack stack = new OffHeapStack(3);
+        stacks.add(stack);
+        return stack;
+    }
+
+    /**
+     * Libère les piles créées par le test.
+     */
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (OffHeapStack stack : stacks) {
+            stack.close();
+        }
+    }
+
+    /**
+     * Teste que les valeurs traversent les frontières de blocs dans l'ordre, et que les blocs
+     * sont réutilisés après un retrait ou un vidage.
+     */
+    @Test
+    public void testChunkBoundaries() {
+        OffHeapStack stack = (OffHeapStack) createStack();
+        for (int i = 0; i < 10; i++) {
+            stack.push(i);
+        }
+        assertEquals(12, stack.getCapacity());
+        assertEquals(9, stack.peek());
+        for (int i = 9; i >= 3; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertEquals(2, stack.peek());
+        stack.push(42);
+        assertEquals(42, stack.peek());
+        stack.clear();
+        for (int i = 0; i < 12; i++) {
+            stack.push(-i);
+        }
+        assertEquals(12, stack.getCapacity());
+        assertEquals(-11, stack.pop());
+    }
+
+    /**
+     * Teste une pile projetée sur fichier : le fichier grandit d'un bloc à la fois.
+     */
+    @Test
+    public void testFileBacked() throws Exception {
+        Path file = directory.resolve("stack.bin");
+        try (OffHeapStack stack = new OffHeapStack(file, 1024)) {
+            for (int i = 0; i < 3000; i++) {
+                stack.push(i * 0.5);
+            }
+            assertEquals(3 * 1024 * Double.BYTES, Files.size(file));
+            for (int i = 2999; i >= 0; i--) {
+                assertEquals(i * 0.5, stack.pop());
+            }
+            assertTrue(stack.isEmpty());
+        }
+        assertTrue(Files.exists(file));
+    }
+
+    /**
+     * Teste qu'une pile fermée refuse les accès à ses valeurs et que la fermeture est idempotente.
+     */
+    @Test
+    public void testClose() throws Exception {
+        OffHeapStack stack = new OffHeapStack(2);
+        stack.push(1);
+        stack.close();
+        stack.close();
+        assertThrows(IllegalStateException.class, stack::pop);
+        assertThrows(IllegalStateException.class, () -> stack.push(2));
+    }
+
+    /**
+     * Teste le refus d'une taille de bloc invalide.
+     */
+    @Test
+    public void testInvalidChunkCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStack(0));
+    }
+}
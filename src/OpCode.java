@@ -0,0 +1,60 @@
+/**
+ * Les codes d'opération d'un programme RPN compilé (voir RPNProgram).
+ * Chaque instruction est codée sur un octet ; PUSH_CONST et PUSH_VAR utilisent un opérande,
+ * respectivement l'indice de la constante dans le pool et l'indice de la variable.
+ */
+public final class OpCode {
+    /** Empile une constante du pool. */
+    public static final byte PUSH_CONST = 0;
+    /** Additionne les deux dernières valeurs. */
+    public static final byte ADD = 1;
+    /** Soustrait les deux dernières valeurs. */
+    public static final byte SUBTRACT = 2;
+    /** Multiplie les deux dernières valeurs. */
+    public static final byte MULTIPLY = 3;
+    /** Divise les deux dernières valeurs. */
+    public static final byte DIVIDE = 4;
+    /** Empile la valeur d'une variable. */
+    public static final byte PUSH_VAR = 5;
+    /** Remplace les trois dernières valeurs a, b, c par {@code Math.fma(a, b, c)}, soit a * b + c arrondi une seule fois. */
+    public static final byte MULTIPLY_ADD = 6;
+
+    private OpCode() {
+    }
+
+    /**
+     * Retourne le symbole RPN d'un code d'opération, utile pour l'affichage.
+     *
+     * @param opCode Le code d'opération.
+     * @return Le symbole correspondant.
+     * @throws IllegalArgumentException Si le code est inconnu.
+     */
+    public static String symbol(byte opCode) {
+        return switch (opCode) {
+            case PUSH_CONST -> "push";
+            case ADD -> "+";
+            case SUBTRACT -> "-";
+            case MULTIPLY -> "*";
+            case DIVIDE -> "/";
+            case PUSH_VAR -> "load";
+            case MULTIPLY_ADD -> "fma";
+            default -> throw new IllegalArgumentException("Unknown opcode: " + opCode);
+        };
+    }
+
+    /**
+     * Retourne le nombre de valeurs qu'une instruction retire de la pile avant d'y empiler son résultat.
+     *
+     * @param opCode Le code d'opération.
+     * @return 0 pour PUSH_CONST et PUSH_VAR, 3 pour MULTIPLY_ADD, 2 pour les autres opérations.
+     * @throws IllegalArgumentException Si le code est inconnu.
+     */
+    public static int operandCount(byte opCode) {
+        return switch (opCode) {
+            case PUSH_CONST, PUSH_VAR -> 0;
+            case ADD, SUBTRACT, MULTIPLY, DIVIDE -> 2;
+            case MULTIPLY_ADD -> 3;
+            default -> throw new IllegalArgumentException("Unknown opcode: " + opCode);
+        };
+    }
+}
@@ -0,0 +1,193 @@
+import java.io.Serial;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Évalue un lot d'expressions RPN en parallèle sur un ForkJoinPool.
+ * Le lot est découpé récursivement en tranches ; chaque tranche emprunte une CalcPipeline à un
+ * CalcPipelinePool propre à l'évaluateur, de sorte qu'aucun état mutable n'est partagé et
+ * qu'aucune chaîne ne reste attachée aux threads du pool une fois l'évaluateur abandonné.
+ * Les résultats sont rangés à l'indice de leur expression, dans l'ordre d'entrée.
+ * Chaque expression est évaluée sur une pile vidée au préalable.
+ */
+public class ParallelBatchEvaluator {
+
+    private static final int MIN_SPLIT_SIZE = 64;
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final CalcPipelinePool pipelines;
+
+    /**
+     * Le résultat d'une évaluation en lot, dans l'ordre des expressions d'entrée.
+     */
+    public static final class BatchResult {
+        private final double[] values;
+        private final Exception[] errors;
+        private final int errorCount;
+
+        private BatchResult(double[] values, Exception[] errors) {
+            this.values = values;
+            this.errors = errors;
+            int count = 0;
+            for (Exception error : errors) {
+                if (error != null) {
+                    count++;
+                }
+            }
+            this.errorCount = count;
+        }
+
+        /**
+         * Retourne le nombre d'expressions du lot.
+         *
+         * @return La taille du lot.
+         */
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Retourne le résultat d'une expression.
+         *
+         * @param index L'indice de l'expression dans le lot.
+         * @return Le résultat, ou NaN si l'évaluation a échoué.
+         */
+        public double value(int index) {
+            return values[index];
+        }
+
+        /**
+         * Retourne l'erreur d'une expression.
+         *
+         * @param index L'indice de l'expression dans le lot.
+         * @return L'exception levée par l'évaluation, ou {@code null} en cas de succès.
+         */
+        public Exception error(int index) {
+            return errors[index];
+        }
+
+        /**
+         * Indique si une expression a été évaluée sans erreur.
+         *
+         * @param index L'indice de l'expression dans le lot.
+         * @return {@code true} si l'évaluation a réussi.
+         */
+        public boolean isSuccess(int index) {
+            return errors[index] == null;
+        }
+
+        /**
+         * Retourne le nombre d'expressions en erreur.
+         *
+         * @return Le nombre d'échecs.
+         */
+        public int errorCount() {
+            return errorCount;
+        }
+    }
+
+    /**
+     * Construit un évaluateur utilisant le pool commun et des piles DoubleArrayStackImpl.
+     */
+    public ParallelBatchEvaluator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit un évaluateur utilisant le pool fourni et des piles DoubleArrayStackImpl.
+     *
+     * @param pool Le pool sur lequel répartir les évaluations.
+     */
+    public ParallelBatchEvaluator(ForkJoinPool pool) {
+        this(pool, DoubleArrayStackImpl::new);
+    }
+
+    /**
+     * Construit un évaluateur utilisant le pool fourni.
+     *
+     * @param pool Le pool sur lequel répartir les évaluations.
+     * @param stackFactory Crée la pile de chaque chaîne de calcul ; au plus une par thread du pool est conservée.
+     */
+    public ParallelBatchEvaluator(ForkJoinPool pool, Supplier<? extends Stack> stackFactory) {
+        this.pool = pool;
+        this.pipelines = new CalcPipelinePool(pool.getParallelism(), stackFactory);
+    }
+
+    /**
+     * Évalue toutes les expressions du flux ; le flux est d'abord collecté en liste.
+     *
+     * @param expressions Les expressions à évaluer.
+     * @return Les résultats, dans l'ordre du flux.
+     */
+    public BatchResult evaluate(Stream<String> expressions) {
+        return evaluate(expressions.toList());
+    }
+
+    /**
+     * Évalue toutes les expressions de la liste en parallèle.
+     *
+     * @param expressions Les expressions à évaluer ; la liste doit offrir un accès indexé efficace.
+     * @return Les résultats, dans l'ordre de la liste.
+     */
+    public BatchResult evaluate(List<String> expressions) {
+        int size = expressions.size();
+        double[] values = new double[size];
+        Exception[] errors = new Exception[size];
+        int splitSize = Math.max(MIN_SPLIT_SIZE, size / (pool.getParallelism() * TASKS_PER_THREAD));
+        pool.invoke(new EvaluationTask(pipelines, expressions, values, errors, 0, size, splitSize));
+        return new BatchResult(values, errors);
+    }
+
+    /**
+     * Évalue la tranche [from, to) du lot, en la divisant tant qu'elle dépasse splitSize.
+     * Les tâches ne sont jamais sérialisées : les champs qui ne peuvent pas l'être sont transitoires.
+     */
+    private static final class EvaluationTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient CalcPipelinePool pipelines;
+        private final transient List<String> expressions;
+        private final double[] values;
+        private final Exception[] errors;
+        private final int from;
+        private final int to;
+        private final int splitSize;
+
+        private EvaluationTask(CalcPipelinePool pipelines, List<String> expressions, double[] values, Exception[] errors,
+                               int from, int to, int splitSize) {
+            this.pipelines = pipelines;
+            this.expressions = expressions;
+            this.values = values;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > splitSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new EvaluationTask(pipelines, expressions, values, errors, from, middle, splitSize),
+                        new EvaluationTask(pipelines, expressions, values, errors, middle, to, splitSize));
+                return;
+            }
+            try (CalcPipeline pipeline = pipelines.acquire()) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        values[i] = pipeline.evaluate(expressions.get(i));
+                    } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+                        values[i] = Double.NaN;
+                        errors[i] = e;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour ParallelBatchEvaluator.
+ * Ces tests vérifient l'ordre des résultats et la remontée des erreurs par expression
+ * sur un pool de plusieurs threads.
+ */
+public class ParallelBatchEvaluatorIntegrationTest {
+
+    private ForkJoinPool pool;
+    private ParallelBatchEvaluator evaluator;
+
+    /**
+     * Configure un pool de quatre threads avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        evaluator = new ParallelBatchEvaluator(pool);
+    }
+
+    /**
+     * Arrête le pool après chaque test.
+     */
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Teste que les résultats d'un grand lot sont rendus dans l'ordre d'entrée.
+     */
+    @Test
+    public void testResultsInInputOrder() {
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expressions.add(i + " 2 *");
+        }
+
+        ParallelBatchEvaluator.BatchResult result = evaluator.evaluate(expressions);
+
+        assertEquals(10_000, result.size());
+        assertEquals(0, result.errorCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(2.0 * i, result.value(i));
+        }
+    }
+
+    /**
+     * Teste que chaque erreur est rattachée à son expression sans affecter les autres.
+     */
+    @Test
+    public void testErrorsPerExpression() {
+        ParallelBatchEvaluator.BatchResult result = evaluator.evaluate(Stream.of("1 2 +", "5 0 /", "+", "x", "4 2 /"));
+
+        assertEquals(3, result.errorCount());
+        assertEquals(3.0, result.value(0));
+        assertInstanceOf(DivideByZeroException.class, result.error(1));
+        assertInstanceOf(NotEnoughOperandsOnStackException.class, result.error(2));
+        assertInstanceOf(ParseException.class, result.error(3));
+        assertTrue(Double.isNaN(result.value(3)));
+        assertTrue(result.isSuccess(4));
+        assertEquals(2.0, result.value(4));
+    }
+
+    /**
+     * Teste qu'une expression ne voit pas les valeurs laissées sur la pile par la précédente.
+     */
+    @Test
+    public void testExpressionsAreIndependent() {
+        ParallelBatchEvaluator.BatchResult result = new ParallelBatchEvaluator(pool, StackImpl::new).evaluate(List.of("1 2", "+"));
+        assertEquals(2.0, result.value(0));
+        assertInstanceOf(NotEnoughOperandsOnStackException.class, result.error(1));
+    }
+}
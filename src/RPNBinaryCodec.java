@@ -0,0 +1,229 @@
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Un format binaire compact pour les programmes RPN, destiné aux échanges entre machines :
+ * un programme construit par un autre système n'a plus besoin d'être écrit en texte puis
+ * relu par RPNParserImpl, et ses littéraux ne passent jamais par {@code Double.parseDouble}.
+ * <p>
+ * Chaque programme forme une trame, en big-endian :
+ * <pre>
+ * int32   longueur de la suite de la trame, en octets
+ * uint16  nombre de variables V
+ * V fois  uint16 longueur en octets, puis le nom de la variable en UTF-8, distinct des précédents
+ * puis, jusqu'à la fin de la trame, les instructions :
+ *         un octet de code d'opération (voir OpCode), suivi pour PUSH_CONST de la constante
+ *         en IEEE-754 sur 8 octets et pour PUSH_VAR de l'indice de la variable sur 2 octets
+ * </pre>
+ * Des trames peuvent se suivre dans un même tampon. {@link #decode(ByteBuffer)} reconstruit
+ * un RPNProgram ; BinaryRPNEvaluator évalue une trame directement dans le tampon, sans copie.
+ * Les tampons doivent être en ordre big-endian, celui par défaut de ByteBuffer.
+ */
+public final class RPNBinaryCodec {
+
+    /** Retourné par {@link #frameSize(ByteBuffer)} lorsque le préfixe de longueur n'est pas encore reçu. */
+    public static final int INCOMPLETE_PREFIX = -1;
+    /** Retourné par {@link #frameSize(ByteBuffer)} lorsque le préfixe annonce une longueur impossible. */
+    public static final int INVALID_LENGTH = -2;
+
+    /** Taille du préfixe de longueur d'une trame. */
+    static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+
+    private RPNBinaryCodec() {
+    }
+
+    /**
+     * Calcule la taille de la trame d'un programme, préfixe de longueur compris.
+     *
+     * @param program Le programme à encoder.
+     * @return Le nombre d'octets de sa trame.
+     */
+    public static int encodedSize(RPNProgram program) {
+        int size = LENGTH_PREFIX_BYTES + Short.BYTES;
+        for (String name : program.getVariableNames()) {
+            size += Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            size += 1 + switch (program.getOpCode(i)) {
+                case OpCode.PUSH_CONST -> Double.BYTES;
+                case OpCode.PUSH_VAR -> Short.BYTES;
+                default -> 0;
+            };
+        }
+        return size;
+    }
+
+    /**
+     * Encode un programme dans un nouveau tableau.
+     *
+     * @param program Le programme à encoder.
+     * @return La trame du programme.
+     * @throws IllegalArgumentException Si le programme a plus de 65 535 variables ou un nom trop long.
+     */
+    public static byte[] encode(RPNProgram program) {
+        byte[] frame = new byte[encodedSize(program)];
+        encode(program, ByteBuffer.wrap(frame));
+        return frame;
+    }
+
+    /**
+     * Écrit la trame d'un programme à la position courante du tampon, puis avance celle-ci.
+     *
+     * @param program Le programme à encoder.
+     * @param out Le tampon de destination, en big-endian.
+     * @throws BufferOverflowException Si le tampon n'a pas la place pour la trame.
+     * @throws IllegalArgumentException Si le programme a plus de 65 535 variables ou un nom trop long.
+     */
+    public static void encode(RPNProgram program, ByteBuffer out) {
+        checkOrder(out);
+        String[] names = program.getVariableNames();
+        if (names.length > 0xFFFF) {
+            throw new IllegalArgumentException("Too many variables: " + names.length);
+        }
+        int size = encodedSize(program);
+        if (out.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        double[] constants = program.getConstantPool();
+        out.putInt(size - LENGTH_PREFIX_BYTES);
+        out.putShort((short) names.length);
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Variable name too long: " + bytes.length + " bytes");
+            }
+            out.putShort((short) bytes.length);
+            out.put(bytes);
+        }
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            byte opCode = program.getOpCode(i);
+            out.put(opCode);
+            if (opCode == OpCode.PUSH_CONST) {
+                out.putDouble(constants[program.getOperand(i)]);
+            } else if (opCode == OpCode.PUSH_VAR) {
+                out.putShort((short) program.getOperand(i));
+            }
+        }
+    }
+
+    /**
+     * Retourne la taille de la prochaine trame du tampon, sans modifier sa position.
+     * Cela permet à un lecteur de réseau d'attendre qu'une trame soit entièrement reçue, et d'abandonner
+     * un flux dont le préfixe est corrompu : aucune quantité d'octets reçus ne le rendrait lisible.
+     *
+     * @param in Le tampon, positionné au début d'une trame.
+     * @return La taille de la trame, préfixe de longueur compris ; {@link #INCOMPLETE_PREFIX} si le préfixe
+     *         n'est pas encore disponible ; {@link #INVALID_LENGTH} s'il annonce moins que les 2 octets du
+     *         nombre de variables, ou une trame dont la taille dépasserait {@code Integer.MAX_VALUE}.
+     */
+    public static int frameSize(ByteBuffer in) {
+        if (in.remaining() < LENGTH_PREFIX_BYTES) {
+            return INCOMPLETE_PREFIX;
+        }
+        int length = in.getInt(in.position());
+        if (length < Short.BYTES || length > Integer.MAX_VALUE - LENGTH_PREFIX_BYTES) {
+            return INVALID_LENGTH;
+        }
+        return LENGTH_PREFIX_BYTES + length;
+    }
+
+    /**
+     * Lit la trame à la position courante du tampon et reconstruit son programme.
+     * La position de chaque instruction dans le tampon devient sa position source,
+     * de sorte que {@link RPNProgram#verify()} désigne l'octet fautif.
+     * Le tampon est avancé jusqu'à la fin de la trame.
+     *
+     * @param in Le tampon, en big-endian, positionné au début d'une trame.
+     * @return Le programme décodé.
+     * @throws ParseException Si la trame est tronquée, mal formée, ou déclare deux fois le même nom de variable ;
+     *                        la position d'erreur est l'indice de l'octet fautif dans le tampon.
+     */
+    public static RPNProgram decode(ByteBuffer in) throws ParseException {
+        checkOrder(in);
+        int start = in.position();
+        int end = frameEnd(in);
+        if (end == INVALID_LENGTH) {
+            throw new ParseException("Invalid frame length", start);
+        }
+        if (end < 0) {
+            throw new ParseException("Truncated frame", start);
+        }
+        int index = start + LENGTH_PREFIX_BYTES;
+        String[] names = new String[in.getShort(index) & 0xFFFF];
+        Set<String> declared = new HashSet<>();
+        index += Short.BYTES;
+        for (int v = 0; v < names.length; v++) {
+            int length = index + Short.BYTES <= end ? in.getShort(index) & 0xFFFF : -1;
+            if (length < 0 || index + Short.BYTES + length > end) {
+                throw new ParseException("Truncated variable name", index);
+            }
+            byte[] bytes = new byte[length];
+            in.get(index + Short.BYTES, bytes);
+            names[v] = new String(bytes, StandardCharsets.UTF_8);
+            if (!declared.add(names[v])) {
+                throw new ParseException("Duplicate variable name", index);
+            }
+            index += Short.BYTES + length;
+        }
+
+        RPNProgramBuilder builder = new RPNProgramBuilder(names);
+        while (index < end) {
+            byte opCode = in.get(index);
+            builder.sourcePosition(index);
+            int next = index + 1;
+            switch (opCode) {
+                case OpCode.PUSH_CONST -> {
+                    next += Double.BYTES;
+                    if (next > end) {
+                        throw new ParseException("Truncated constant", index);
+                    }
+                    builder.pushConstant(in.getDouble(index + 1));
+                }
+                case OpCode.PUSH_VAR -> {
+                    next += Short.BYTES;
+                    int variable = next <= end ? in.getShort(index + 1) & 0xFFFF : -1;
+                    if (variable < 0 || variable >= names.length) {
+                        throw new ParseException("Invalid variable index", index);
+                    }
+                    builder.pushVariable(names[variable]);
+                }
+                case OpCode.ADD, OpCode.SUBTRACT, OpCode.MULTIPLY, OpCode.DIVIDE, OpCode.MULTIPLY_ADD -> builder.operation(opCode);
+                default -> throw new ParseException("Unknown opcode: " + opCode, index);
+            }
+            index = next;
+        }
+        in.position(end);
+        return builder.build();
+    }
+
+    /**
+     * Retourne l'indice de fin de la trame commençant à la position du tampon, -1 si elle est tronquée,
+     * ou {@link #INVALID_LENGTH} si son préfixe annonce une longueur impossible.
+     */
+    static int frameEnd(ByteBuffer in) {
+        int size = frameSize(in);
+        if (size == INVALID_LENGTH) {
+            return INVALID_LENGTH;
+        }
+        if (size < 0 || size > in.remaining()) {
+            return -1;
+        }
+        return in.position() + size;
+    }
+
+    /**
+     * Vérifie que le tampon est en big-endian, l'ordre du format.
+     *
+     * @throws IllegalArgumentException Si le tampon est en little-endian.
+     */
+    static void checkOrder(ByteBuffer buffer) {
+        if (buffer.order() != ByteOrder.BIG_ENDIAN) {
+            throw new IllegalArgumentException("Binary RPN frames are big-endian");
+        }
+    }
+}
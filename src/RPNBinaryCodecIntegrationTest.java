@@ -0,0 +1,197 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNBinaryCodec et BinaryRPNEvaluator.
+ * Ces tests vérifient l'aller-retour entre programme et trame binaire, l'évaluation sans copie
+ * dans le tampon et le signalement des trames invalides.
+ */
+public class RPNBinaryCodecIntegrationTest {
+
+    private RPNParserImpl parser;
+    private BinaryRPNEvaluator evaluator;
+    private EvaluationResult result;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new RPNParserImpl(new CalcImpl(new StackImpl()));
+        evaluator = new BinaryRPNEvaluator();
+        result = new EvaluationResult();
+    }
+
+    /**
+     * Teste qu'un programme décodé est identique au programme encodé, et que la taille annoncée est exacte.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        RPNProgram program = new RPNProgramBuilder()
+                .pushVariable("x").pushConstant(2.5).pushVariable("y").operation(OpCode.MULTIPLY_ADD)
+                .pushConstant(0.1).operation(OpCode.DIVIDE).build();
+        byte[] frame = RPNBinaryCodec.encode(program);
+        assertEquals(RPNBinaryCodec.encodedSize(program), frame.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        assertEquals(frame.length, RPNBinaryCodec.frameSize(buffer));
+        assertEquals(program, RPNBinaryCodec.decode(buffer));
+        assertEquals(frame.length, buffer.position());
+    }
+
+    /**
+     * Teste que l'évaluation d'une trame donne le même résultat que celle de l'expression texte.
+     */
+    @Test
+    public void testEvaluateMatchesParser() throws Exception {
+        String[] expressions = {"3 5 2 * + 10 20 - /", "1e308 10 *", "-0 5 *", "0.1 0.2 +"};
+        for (String expression : expressions) {
+            ByteBuffer frame = ByteBuffer.wrap(RPNBinaryCodec.encode(parser.compile(expression)));
+            assertEquals(EvaluationResult.OK, evaluator.evaluate(frame, new double[0], result), expression);
+            assertEquals(parser.parseAndDisplayResult(expression), result.getValue(), expression);
+        }
+
+        RPNProgram multiplyAdd = new RPNProgramBuilder()
+                .pushConstant(0.1).pushConstant(10).pushConstant(-1).operation(OpCode.MULTIPLY_ADD).build();
+        assertEquals(EvaluationResult.OK, evaluator.evaluate(ByteBuffer.wrap(RPNBinaryCodec.encode(multiplyAdd)), new double[0], result));
+        assertEquals(Math.fma(0.1, 10, -1), result.getValue());
+    }
+
+    /**
+     * Teste l'évaluation de trames successives avec variables dans un tampon direct.
+     */
+    @Test
+    public void testConsecutiveFramesInDirectBuffer() throws Exception {
+        RPNProgram first = parser.compile("x y -");
+        RPNProgram second = parser.compile("1 2 +");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RPNBinaryCodec.encodedSize(first) + RPNBinaryCodec.encodedSize(second));
+        RPNBinaryCodec.encode(first, buffer);
+        RPNBinaryCodec.encode(second, buffer);
+        buffer.flip();
+
+        assertEquals(EvaluationResult.OK, evaluator.evaluate(buffer, new double[]{10, 4}, result));
+        assertEquals(6, result.getValue());
+        assertEquals(EvaluationResult.OK, evaluator.evaluate(buffer, new double[0], result));
+        assertEquals(3, result.getValue());
+        assertFalse(buffer.hasRemaining());
+        assertEquals(-1, RPNBinaryCodec.frameSize(buffer));
+    }
+
+    /**
+     * Teste les erreurs d'évaluation : leur plage désigne l'octet de l'instruction fautive,
+     * et la position du tampon passe tout de même à la trame suivante.
+     */
+    @Test
+    public void testEvaluationErrors() throws Exception {
+        ByteBuffer frame = ByteBuffer.wrap(RPNBinaryCodec.encode(parser.compile("1 0 /")));
+        assertEquals(EvaluationResult.DIVIDE_BY_ZERO, evaluator.evaluate(frame, new double[0], result));
+        assertEquals(24, result.getErrorStart());
+        assertEquals(frame.limit(), frame.position());
+
+        ByteBuffer truncatedConstant = ByteBuffer.allocate(8).putInt(4).putShort((short) 0).put(OpCode.PUSH_CONST).put(OpCode.ADD);
+        truncatedConstant.flip();
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate(truncatedConstant, new double[0], result));
+        assertEquals(6, result.getErrorStart());
+
+        ByteBuffer empty = ByteBuffer.allocate(6).putInt(2).putShort((short) 0).flip();
+        assertEquals(EvaluationResult.NOT_ENOUGH_OPERANDS, evaluator.evaluate(empty, new double[0], result));
+    }
+
+    /**
+     * Teste le manque d'opérandes, rapporté par l'évaluateur et par la vérification du programme décodé.
+     */
+    @Test
+    public void testNotEnoughOperands() throws Exception {
+        RPNProgram program = new RPNProgramBuilder().pushConstant(1).operation(OpCode.ADD).build();
+        byte[] frame = RPNBinaryCodec.encode(program);
+        assertEquals(EvaluationResult.NOT_ENOUGH_OPERANDS, evaluator.evaluate(ByteBuffer.wrap(frame), new double[0], result));
+        assertEquals(15, result.getErrorStart());
+
+        NotEnoughOperandsOnStackException e = assertThrows(NotEnoughOperandsOnStackException.class,
+                () -> RPNBinaryCodec.decode(ByteBuffer.wrap(frame)).verify());
+        assertEquals(15, e.getPosition());
+    }
+
+    /**
+     * Teste les trames tronquées ou mal formées.
+     */
+    @Test
+    public void testMalformedFrames() throws Exception {
+        byte[] frame = RPNBinaryCodec.encode(parser.compile("1 2 +"));
+        ByteBuffer truncated = ByteBuffer.wrap(frame, 0, frame.length - 1);
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate(truncated, new double[0], result));
+        assertEquals(0, truncated.position());
+        assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(truncated));
+
+        ByteBuffer unknown = ByteBuffer.allocate(7).putInt(3).putShort((short) 0).put((byte) 42).flip();
+        ParseException e = assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(unknown));
+        assertEquals(6, e.getErrorOffset());
+        unknown.rewind();
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate(unknown, new double[0], result));
+        assertEquals(6, result.getErrorStart());
+
+        ByteBuffer badVariable = ByteBuffer.allocate(9).putInt(5).putShort((short) 0).put(OpCode.PUSH_VAR).putShort((short) 0).flip();
+        assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(badVariable));
+    }
+
+    /**
+     * Teste qu'une trame déclarant deux fois le même nom de variable est refusée par le décodeur
+     * comme par l'évaluateur, l'erreur désignant la seconde déclaration.
+     */
+    @Test
+    public void testDuplicateVariableName() throws Exception {
+        ByteBuffer frame = ByteBuffer.allocate(19).putInt(15).putShort((short) 2)
+                .putShort((short) 1).put((byte) 'x').putShort((short) 1).put((byte) 'x')
+                .put(OpCode.PUSH_VAR).putShort((short) 0).put(OpCode.PUSH_VAR).putShort((short) 1).put(OpCode.ADD)
+                .flip();
+        ParseException e = assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(frame));
+        assertEquals("Duplicate variable name", e.getMessage());
+        assertEquals(9, e.getErrorOffset());
+
+        frame.rewind();
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate(frame, new double[]{1, 2}, result));
+        assertEquals(9, result.getErrorStart());
+        assertEquals(12, result.getErrorEnd());
+        assertEquals(frame.limit(), frame.position());
+    }
+
+    /**
+     * Teste qu'un préfixe annonçant une longueur impossible est distingué d'une trame tronquée.
+     */
+    @Test
+    public void testInvalidFrameLength() {
+        for (int length : new int[]{-1, 0, 1, 0x7FFFFFFC, 0x7FFFFFFD, Integer.MAX_VALUE}) {
+            ByteBuffer frame = ByteBuffer.allocate(8).putInt(length).putShort((short) 0).put(OpCode.PUSH_CONST).flip();
+            assertEquals(RPNBinaryCodec.INVALID_LENGTH, RPNBinaryCodec.frameSize(frame), Integer.toHexString(length));
+            ParseException e = assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(frame));
+            assertEquals("Invalid frame length", e.getMessage());
+            assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate(frame, new double[0], result));
+            assertEquals(0, result.getErrorStart());
+            assertEquals(4, result.getErrorEnd());
+            assertEquals(0, frame.position());
+        }
+
+        ByteBuffer truncated = ByteBuffer.allocate(8).putInt(0x7FFFFFFB).putShort((short) 0).flip();
+        assertEquals(Integer.MAX_VALUE, RPNBinaryCodec.frameSize(truncated));
+        ParseException e = assertThrows(ParseException.class, () -> RPNBinaryCodec.decode(truncated));
+        assertEquals("Truncated frame", e.getMessage());
+        assertEquals(RPNBinaryCodec.INCOMPLETE_PREFIX, RPNBinaryCodec.frameSize(ByteBuffer.allocate(3)));
+    }
+
+    /**
+     * Teste le refus des tampons little-endian et d'un nombre de variables incorrect.
+     */
+    @Test
+    public void testInvalidArguments() throws Exception {
+        ByteBuffer frame = ByteBuffer.wrap(RPNBinaryCodec.encode(parser.compile("x 1 +")));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(frame, new double[0], result));
+        frame.order(ByteOrder.LITTLE_ENDIAN);
+        assertThrows(IllegalArgumentException.class, () -> RPNBinaryCodec.decode(frame));
+    }
+}
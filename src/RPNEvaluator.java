@@ -0,0 +1,150 @@
+/**
+ * Évalue des expressions RPN sans lever d'exception : les erreurs sont rapportées par un code de statut
+ * dans un EvaluationResult réutilisable. Une expression invalide ne coûte ainsi ni capture de pile
+ * d'appels ni allocation, et un lot riche en erreurs s'évalue aussi vite qu'un lot valide.
+ * Les opérations suivent la sémantique de CalcImpl, mais chaque évaluation part d'une pile vide.
+ * Une instance n'est pas thread-safe.
+ */
+public class RPNEvaluator {
+
+    private final Stack stack;
+    private final RPNTokenizer tokenizer = new RPNTokenizer();
+    private double[] buffer = new double[16];
+
+    /**
+     * Construit un évaluateur utilisant une DoubleArrayStackImpl.
+     */
+    public RPNEvaluator() {
+        this(new DoubleArrayStackImpl());
+    }
+
+    /**
+     * Construit un évaluateur utilisant la pile fournie, vidée avant chaque évaluation.
+     *
+     * @param stack La pile de travail.
+     */
+    public RPNEvaluator(Stack stack) {
+        this.stack = stack;
+    }
+
+    /**
+     * Analyse et évalue une expression.
+     *
+     * @param expression L'expression en notation RPN.
+     * @param result Reçoit le statut, la valeur ou la position de l'erreur.
+     * @return Le statut de l'évaluation (voir EvaluationResult).
+     */
+    public int evaluate(CharSequence expression, EvaluationResult result) {
+        stack.clear();
+        tokenizer.reset(expression);
+        int type = tokenizer.next();
+        if (type == RPNTokenizer.END) {
+            return result.failure(EvaluationResult.PARSE_ERROR, 0, 0);
+        }
+
+        for (; type != RPNTokenizer.END; type = tokenizer.next()) {
+            int status = switch (type) {
+                case RPNTokenizer.NUMBER -> push(tokenizer.number());
+                case RPNTokenizer.OPERATOR -> apply(tokenizer.opCode());
+                default -> EvaluationResult.PARSE_ERROR;
+            };
+            if (status != EvaluationResult.OK) {
+                return result.failure(status, tokenizer.tokenStart(), tokenizer.tokenEnd());
+            }
+        }
+        return result.success(stack.peek());
+    }
+
+    /**
+     * Évalue un programme compilé avec les valeurs de variables fournies.
+     * Un manque d'opérandes est connu d'avance grâce à {@link RPNProgram#getUnderflowIndex()} et rapporté
+     * avant toute exécution, avec la position de son token comme début d'erreur (la fin vaut -1).
+     * L'exécution se fait alors sur un tampon dimensionné à la profondeur maximale du programme,
+     * sans passer par la pile de travail ni vérifier sa taille à chaque opération.
+     *
+     * @param program Le programme à évaluer.
+     * @param variables Les valeurs des variables, dans l'ordre de {@link RPNProgram#getVariableNames()}.
+     * @param result Reçoit le statut et la valeur.
+     * @return Le statut de l'évaluation (voir EvaluationResult).
+     * @throws IllegalArgumentException Si le nombre de valeurs ne correspond pas au nombre de variables.
+     */
+    public int evaluate(RPNProgram program, double[] variables, EvaluationResult result) {
+        if (variables.length != program.getVariableCount()) {
+            throw new IllegalArgumentException("Expected " + program.getVariableCount() + " variable values, got " + variables.length);
+        }
+        int underflowIndex = program.getUnderflowIndex();
+        if (underflowIndex >= 0) {
+            return result.failure(EvaluationResult.NOT_ENOUGH_OPERANDS, program.getSourcePosition(underflowIndex), -1);
+        }
+        if (buffer.length < program.getMaxDepth()) {
+            buffer = new double[program.getMaxDepth()];
+        }
+        double[] stack = buffer;
+        double[] constants = program.getConstantPool();
+        int size = 0;
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            byte opCode = program.getOpCode(i);
+            switch (opCode) {
+                case OpCode.PUSH_CONST -> stack[size++] = constants[program.getOperand(i)];
+                case OpCode.PUSH_VAR -> stack[size++] = variables[program.getOperand(i)];
+                case OpCode.ADD -> {
+                    size--;
+                    stack[size - 1] += stack[size];
+                }
+                case OpCode.SUBTRACT -> {
+                    size--;
+                    stack[size - 1] -= stack[size];
+                }
+                case OpCode.MULTIPLY -> {
+                    size--;
+                    stack[size - 1] *= stack[size];
+                }
+                case OpCode.DIVIDE -> {
+                    size--;
+                    if (stack[size] == 0) {
+                        return result.failure(EvaluationResult.DIVIDE_BY_ZERO, -1, -1);
+                    }
+                    stack[size - 1] /= stack[size];
+                }
+                case OpCode.MULTIPLY_ADD -> {
+                    size -= 2;
+                    stack[size - 1] = Math.fma(stack[size - 1], stack[size], stack[size + 1]);
+                }
+                default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+            }
+        }
+        return result.success(stack[size - 1]);
+    }
+
+    private int push(double value) {
+        stack.push(value);
+        return EvaluationResult.OK;
+    }
+
+    /**
+     * Applique une opération binaire sur la pile de travail.
+     *
+     * @return OK, NOT_ENOUGH_OPERANDS ou DIVIDE_BY_ZERO.
+     */
+    private int apply(byte opCode) {
+        if (stack.getSize() < 2) {
+            return EvaluationResult.NOT_ENOUGH_OPERANDS;
+        }
+        double value1 = stack.pop();
+        double value2 = stack.pop();
+        switch (opCode) {
+            case OpCode.ADD -> stack.push(value2 + value1);
+            case OpCode.SUBTRACT -> stack.push(value2 - value1);
+            case OpCode.MULTIPLY -> stack.push(value2 * value1);
+            case OpCode.DIVIDE -> {
+                if (value1 == 0) {
+                    return EvaluationResult.DIVIDE_BY_ZERO;
+                }
+                stack.push(value2 / value1);
+            }
+            default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+        }
+        return EvaluationResult.OK;
+    }
+
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNEvaluator et EvaluationResult.
+ * Ces tests vérifient que chaque erreur est rapportée par un code de statut, avec la position
+ * du token fautif et le même message que l'exception correspondante.
+ */
+public class RPNEvaluatorIntegrationTest {
+
+    private RPNEvaluator evaluator;
+    private EvaluationResult result;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        evaluator = new RPNEvaluator();
+        result = new EvaluationResult();
+    }
+
+    /**
+     * Teste une évaluation réussie.
+     */
+    @Test
+    public void testSuccess() {
+        assertEquals(EvaluationResult.OK, evaluator.evaluate("3 5 2 * + 10 20 - /", result));
+        assertTrue(result.isSuccess());
+        assertEquals(-1.3, result.getValue());
+        assertNull(result.getMessage("3 5 2 * + 10 20 - /"));
+    }
+
+    /**
+     * Teste un token invalide, sa position et son message.
+     */
+    @Test
+    public void testParseError() {
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate("5  a +", result));
+        assertEquals(3, result.getErrorStart());
+        assertEquals(4, result.getErrorEnd());
+        assertTrue(Double.isNaN(result.getValue()));
+        assertEquals("Invalid token: a", result.getMessage("5  a +"));
+
+        assertEquals(EvaluationResult.PARSE_ERROR, evaluator.evaluate("   ", result));
+        assertEquals("Empty expression", result.getMessage("   "));
+    }
+
+    /**
+     * Teste le manque d'opérandes, rapporté sur l'opérateur fautif.
+     */
+    @Test
+    public void testNotEnoughOperands() {
+        assertEquals(EvaluationResult.NOT_ENOUGH_OPERANDS, evaluator.evaluate("1 2 + +", result));
+        assertEquals(6, result.getErrorStart());
+        assertEquals(new NotEnoughOperandsOnStackException().getMessage(), result.getMessage("1 2 + +"));
+    }
+
+    /**
+     * Teste la division par zéro, y compris par -0.0.
+     */
+    @Test
+    public void testDivideByZero() {
+        assertEquals(EvaluationResult.DIVIDE_BY_ZERO, evaluator.evaluate("5 -0 /", result));
+        assertEquals(new DivideByZeroException().getMessage(), result.getMessage("5 -0 /"));
+    }
+
+    /**
+     * Teste que chaque évaluation part d'une pile vide.
+     */
+    @Test
+    public void testEvaluationsAreIndependent() {
+        evaluator.evaluate("1 2", result);
+        assertEquals(EvaluationResult.NOT_ENOUGH_OPERANDS, evaluator.evaluate("+", result));
+    }
+
+    /**
+     * Teste l'évaluation sans exception d'un programme compilé avec variables.
+     */
+    @Test
+    public void testProgram() throws Exception {
+        RPNProgram program = new RPNParserImpl(new CalcImpl(new StackImpl())).compile("x y /");
+        assertEquals(EvaluationResult.OK, evaluator.evaluate(program, new double[]{1, 4}, result));
+        assertEquals(0.25, result.getValue());
+        assertEquals(EvaluationResult.DIVIDE_BY_ZERO, evaluator.evaluate(program, new double[]{1, 0}, result));
+
+        RPNProgram underflow = new RPNParserImpl(new CalcImpl(new StackImpl())).compile("x y / * 2");
+        assertEquals(EvaluationResult.NOT_ENOUGH_OPERANDS, evaluator.evaluate(underflow, new double[]{1, 4}, result));
+        assertEquals(6, result.getErrorStart());
+    }
+
+    /**
+     * Teste la création d'exceptions sans pile d'appels.
+     */
+    @Test
+    public void testStacklessExceptions() {
+        assertEquals(0, new DivideByZeroException(false).getStackTrace().length);
+        assertEquals(0, new NotEnoughOperandsOnStackException(false).getStackTrace().length);
+        assertTrue(new DivideByZeroException(true).getStackTrace().length > 0);
+    }
+}
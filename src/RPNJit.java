@@ -0,0 +1,338 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Traduit un RPNProgram en bytecode JVM : chaque programme devient une classe cachée
+ * ({@link MethodHandles.Lookup#defineHiddenClass}) implémentant CompiledFormula.
+ * Les emplacements de la pile RPN sont des variables locales de la méthode {@code evaluate},
+ * sans objet Stack ni tableau intermédiaire ; HotSpot peut alors inliner toute la formule et
+ * placer ses opérandes dans des registres. La profondeur de pile étant connue à la traduction,
+ * un manque d'opérandes est signalé dès {@link #compile(RPNProgram)} ; la division conserve
+ * la sémantique de CalcImpl en passant par {@link #checkedDivide(double, double)}.
+ * La classe générée ne contient aucun branchement et n'a donc pas besoin de StackMapTable.
+ */
+public final class RPNJit {
+
+    private static final int CLASS_FILE_VERSION = 61;
+    private static final int MAX_CODE_LENGTH = 65535;
+    private static final int MAX_CONSTANTS = 30000;
+    private static final String CLASS_NAME = "RPNJitFormula";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC2_W = 0x14;
+    private static final int DLOAD = 0x18;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int DALOAD = 0x31;
+    private static final int DSTORE = 0x39;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int WIDE = 0xc4;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private RPNJit() {
+    }
+
+    /**
+     * Traduit un programme en classe cachée. Les programmes dont le bytecode dépasserait les limites
+     * d'un fichier de classe (taille d'une méthode, pool de constantes) sont évalués par un
+     * interpréteur équivalent.
+     *
+     * @param program Le programme à traduire.
+     * @return La formule compilée, utilisable depuis plusieurs threads.
+     * @throws NotEnoughOperandsOnStackException Si une opération du programme manque d'opérandes.
+     */
+    public static CompiledFormula compile(RPNProgram program) throws NotEnoughOperandsOnStackException {
+        program.verify();
+        int maxDepth = program.getMaxDepth();
+        try {
+            byte[] classFile = classFile(program, maxDepth);
+            if (classFile == null) {
+                return variables -> interpret(program, variables, maxDepth);
+            }
+            Class<?> formulaClass = LOOKUP.defineHiddenClass(classFile, true).lookupClass();
+            return (CompiledFormula) LOOKUP.findConstructor(formulaClass, MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot define formula class", e);
+        }
+    }
+
+    /**
+     * Divise deux valeurs avec la sémantique de CalcImpl.divide. Appelée par le bytecode généré.
+     *
+     * @param dividend Le dividende.
+     * @param divisor Le diviseur.
+     * @return Le quotient.
+     * @throws DivideByZeroException Si le diviseur est nul.
+     */
+    public static double checkedDivide(double dividend, double divisor) throws DivideByZeroException {
+        if (divisor == 0) {
+            throw new DivideByZeroException();
+        }
+        return dividend / divisor;
+    }
+
+    /**
+     * Produit le fichier de classe complet de la formule.
+     *
+     * @return Le fichier de classe, ou {@code null} si le programme dépasse les limites du format.
+     */
+    private static byte[] classFile(RPNProgram program, int maxDepth) throws IOException {
+        if (program.getConstantPool().length > MAX_CONSTANTS) {
+            return null;
+        }
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(CLASS_NAME);
+        int superClass = pool.classRef("java/lang/Object");
+        int formulaInterface = pool.classRef("CompiledFormula");
+        int objectInit = pool.methodRef("java/lang/Object", "<init>", "()V");
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int evaluateName = pool.utf8("evaluate");
+        int evaluateDescriptor = pool.utf8("([D)D");
+        int codeName = pool.utf8("Code");
+        byte[] evaluateCode = evaluateCode(program, pool);
+        if (evaluateCode == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(CLASS_FILE_VERSION);
+        pool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);
+        out.writeShort(formulaInterface);
+        out.writeShort(0);
+        out.writeShort(2);
+
+        byte[] initCode = {(byte) ALOAD_0, (byte) INVOKESPECIAL, (byte) (objectInit >> 8), (byte) objectInit, (byte) RETURN};
+        writeMethod(out, initName, initDescriptor, codeName, 1, 1, initCode);
+        writeMethod(out, evaluateName, evaluateDescriptor, codeName, 6, 2 + 2 * maxDepth, evaluateCode);
+
+        out.writeShort(0);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Produit le bytecode de {@code double evaluate(double[])}. L'emplacement {@code d} de la pile RPN
+     * est la variable locale {@code 2 + 2d} (0 est {@code this}, 1 le tableau des variables).
+     *
+     * @return Le bytecode, ou {@code null} s'il dépasse la taille maximale d'une méthode.
+     */
+    private static byte[] evaluateCode(RPNProgram program, ConstantPool pool) {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        double[] constants = program.getConstantPool();
+        int checkedDivide = pool.methodRef("RPNJit", "checkedDivide", "(DD)D");
+        int fma = pool.methodRef("java/lang/Math", "fma", "(DDD)D");
+        int depth = 0;
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            byte opCode = program.getOpCode(i);
+            switch (opCode) {
+                case OpCode.PUSH_CONST -> {
+                    double value = constants[program.getOperand(i)];
+                    if (Double.doubleToRawLongBits(value) == 0L) {
+                        code.write(DCONST_0);
+                    } else if (value == 1.0) {
+                        code.write(DCONST_1);
+                    } else {
+                        writeU1U2(code, LDC2_W, pool.doubleConstant(value));
+                    }
+                    writeLocal(code, DSTORE, depth++);
+                }
+                case OpCode.PUSH_VAR -> {
+                    int variable = program.getOperand(i);
+                    if (variable > Short.MAX_VALUE) {
+                        return null;
+                    }
+                    code.write(ALOAD_1);
+                    writeU1U2(code, SIPUSH, variable);
+                    code.write(DALOAD);
+                    writeLocal(code, DSTORE, depth++);
+                }
+                case OpCode.MULTIPLY_ADD -> {
+                    depth -= 2;
+                    writeLocal(code, DLOAD, depth - 1);
+                    writeLocal(code, DLOAD, depth);
+                    writeLocal(code, DLOAD, depth + 1);
+                    writeU1U2(code, INVOKESTATIC, fma);
+                    writeLocal(code, DSTORE, depth - 1);
+                }
+                default -> {
+                    depth--;
+                    writeLocal(code, DLOAD, depth - 1);
+                    writeLocal(code, DLOAD, depth);
+                    switch (opCode) {
+                        case OpCode.ADD -> code.write(DADD);
+                        case OpCode.SUBTRACT -> code.write(DSUB);
+                        case OpCode.MULTIPLY -> code.write(DMUL);
+                        case OpCode.DIVIDE -> writeU1U2(code, INVOKESTATIC, checkedDivide);
+                        default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+                    }
+                    writeLocal(code, DSTORE, depth - 1);
+                }
+            }
+            if (code.size() > MAX_CODE_LENGTH - 8) {
+                return null;
+            }
+        }
+        writeLocal(code, DLOAD, depth - 1);
+        code.write(DRETURN);
+        return code.toByteArray();
+    }
+
+    private static void writeLocal(ByteArrayOutputStream code, int instruction, int slot) {
+        int local = 2 + 2 * slot;
+        if (local <= 0xFF) {
+            code.write(instruction);
+            code.write(local);
+        } else {
+            code.write(WIDE);
+            writeU1U2(code, instruction, local);
+        }
+    }
+
+    private static void writeU1U2(ByteArrayOutputStream code, int u1, int u2) {
+        code.write(u1);
+        code.write(u2 >> 8);
+        code.write(u2);
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * Évalue le programme sur une pile primitive ; utilisé lorsque le bytecode serait trop long.
+     */
+    private static double interpret(RPNProgram program, double[] variables, int maxDepth) throws DivideByZeroException {
+        double[] constants = program.getConstantPool();
+        double[] stack = new double[maxDepth];
+        int size = 0;
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            byte opCode = program.getOpCode(i);
+            switch (opCode) {
+                case OpCode.PUSH_CONST -> stack[size++] = constants[program.getOperand(i)];
+                case OpCode.PUSH_VAR -> stack[size++] = variables[program.getOperand(i)];
+                case OpCode.MULTIPLY_ADD -> {
+                    size -= 2;
+                    stack[size - 1] = Math.fma(stack[size - 1], stack[size], stack[size + 1]);
+                }
+                default -> {
+                    double value1 = stack[--size];
+                    double value2 = stack[size - 1];
+                    stack[size - 1] = switch (opCode) {
+                        case OpCode.ADD -> value2 + value1;
+                        case OpCode.SUBTRACT -> value2 - value1;
+                        case OpCode.MULTIPLY -> value2 * value1;
+                        case OpCode.DIVIDE -> checkedDivide(value2, value1);
+                        default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+                    };
+                }
+            }
+        }
+        return stack[size - 1];
+    }
+
+    /**
+     * Le pool de constantes d'un fichier de classe ; les entrées identiques sont partagées.
+     */
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, 1, 1, () -> out.writeUTF(value));
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, 7, 1, () -> out.writeShort(name));
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            int ownerClass = classRef(owner);
+            int methodName = utf8(name);
+            int methodDescriptor = utf8(descriptor);
+            int nameAndType = entry("N" + name + descriptor, 12, 1, () -> {
+                out.writeShort(methodName);
+                out.writeShort(methodDescriptor);
+            });
+            return entry("M" + owner + "." + name + descriptor, 10, 1, () -> {
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            return entry("D" + bits, 6, 2, () -> out.writeLong(bits));
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private int entry(String key, int tag, int slots, EntryWriter writer) {
+            Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (count + slots > 0xFFFF) {
+                throw new IllegalStateException("Constant pool overflow");
+            }
+            try {
+                out.writeByte(tag);
+                writer.write();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            int index = count;
+            count += slots;
+            entries.put(key, index);
+            return index;
+        }
+
+        private interface EntryWriter {
+            void write() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNJit.
+ * Ces tests comparent les formules traduites en bytecode à l'évaluation de RPNProgram
+ * avec CalcImpl, y compris pour les cas d'erreur.
+ */
+public class RPNJitIntegrationTest {
+
+    private RPNParser parser;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new RPNParserImpl(new CalcImpl(new StackImpl()));
+    }
+
+    /**
+     * Teste que la formule compilée donne exactement le résultat de l'évaluation avec CalcImpl.
+     */
+    @Test
+    public void testMatchesCalcEvaluation() throws Exception {
+        String[] expressions = {"x y * 2.5 + x y - /", "0 x - 1 *", "-0 x *", "1e300 x * x *", "x x x x + + +"};
+        double[][] inputs = {{3, 4}, {-1.5, 0.25}, {1e-300, 7}};
+        for (String expression : expressions) {
+            RPNProgram program = parser.compile(expression);
+            CompiledFormula formula = RPNJit.compile(program);
+            for (double[] input : inputs) {
+                double[] variables = Arrays.copyOf(input, program.getVariableCount());
+                double expected = program.evaluate(new CalcImpl(new StackImpl()), variables);
+                assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(formula.evaluate(variables)), expression);
+            }
+        }
+    }
+
+    /**
+     * Teste la division par zéro, levée à l'évaluation comme dans CalcImpl.
+     */
+    @Test
+    public void testDivideByZero() throws Exception {
+        CompiledFormula formula = RPNJit.compile(parser.compile("1 x /"));
+        assertEquals(0.5, formula.evaluate(new double[]{2}));
+        assertThrows(DivideByZeroException.class, () -> formula.evaluate(new double[]{-0.0}));
+    }
+
+    /**
+     * Teste que le manque d'opérandes est détecté dès la traduction.
+     */
+    @Test
+    public void testNotEnoughOperandsAtCompileTime() throws Exception {
+        RPNProgram program = parser.compile("x + 1");
+        NotEnoughOperandsOnStackException e = assertThrows(NotEnoughOperandsOnStackException.class, () -> RPNJit.compile(program));
+        assertEquals(2, e.getPosition());
+    }
+
+    /**
+     * Teste une pile profonde, dont les emplacements dépassent les 256 premières variables locales.
+     */
+    @Test
+    public void testDeepStack() throws Exception {
+        StringBuilder expression = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            expression.append(i).append(' ');
+        }
+        expression.append("+ ".repeat(299));
+        assertEquals(44850.0, RPNJit.compile(parser.compile(expression.toString())).evaluate(new double[0]));
+    }
+
+    /**
+     * Teste le repli sur l'interpréteur lorsque le bytecode dépasserait la taille d'une méthode.
+     */
+    @Test
+    public void testOversizedProgram() throws Exception {
+        StringBuilder expression = new StringBuilder("x");
+        for (int i = 0; i < 20_000; i++) {
+            expression.append(' ').append(i).append(" +");
+        }
+        CompiledFormula formula = RPNJit.compile(parser.compile(expression.toString()));
+        assertEquals(199_990_000.0 + 1, formula.evaluate(new double[]{1}));
+    }
+}
@@ -0,0 +1,313 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Les métriques alimentées par InstrumentedCalc et InstrumentedRPNParser.
+ * Tous les compteurs sont des LongAdder, dont les cellules se répartissent entre threads sous contention,
+ * et la latence des évaluations est suivie par un LatencyHistogram : l'enregistrement ne prend
+ * aucun verrou et reste assez léger pour être laissé actif en production.
+ * Les métriques sont lisibles via JMX ({@link #register(String)}) ou sous forme de texte ({@link #snapshot()}).
+ * Une même instance peut être partagée par plusieurs décorateurs et plusieurs threads.
+ */
+public class RPNMetrics implements RPNMetricsMXBean {
+
+    /** Indice de enterValue dans les compteurs d'opérations. */
+    static final int ENTER_VALUE = 0;
+    /** Indice de add dans les compteurs d'opérations. */
+    static final int ADD = 1;
+    /** Indice de subtract dans les compteurs d'opérations. */
+    static final int SUBTRACT = 2;
+    /** Indice de multiply dans les compteurs d'opérations. */
+    static final int MULTIPLY = 3;
+    /** Indice de divide dans les compteurs d'opérations. */
+    static final int DIVIDE = 4;
+    /** Indice de multiplyAdd dans les compteurs d'opérations. */
+    static final int MULTIPLY_ADD = 5;
+    /** Indice de displayValueOnTop dans les compteurs d'opérations. */
+    static final int DISPLAY_VALUE_ON_TOP = 6;
+
+    private static final String[] OPERATION_NAMES = {
+            "enterValue", "add", "subtract", "multiply", "divide", "multiplyAdd", "displayValueOnTop"
+    };
+
+    private final LongAdder[] operations = newAdders(OPERATION_NAMES.length);
+    private final LongAdder[] operationFailures = newAdders(OPERATION_NAMES.length);
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder compilations = new LongAdder();
+    private final LongAdder compilationErrors = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final LongAdder notEnoughOperands = new LongAdder();
+    private final LongAdder divideByZero = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Enregistre ces métriques auprès du serveur MBean de la plateforme, sous le nom
+     * {@code rpn:type=RPNMetrics,name=<name>}.
+     *
+     * @param name Le nom distinguant cette instance dans JMX.
+     * @return Le nom JMX sous lequel les métriques sont enregistrées.
+     * @throws JMException Si le nom est invalide ou déjà enregistré.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("rpn:type=RPNMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Retourne toutes les métriques sous forme de lignes {@code nom valeur}.
+     *
+     * @return Le texte des métriques.
+     */
+    public String snapshot() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < OPERATION_NAMES.length; i++) {
+            sb.append("calc.").append(OPERATION_NAMES[i]).append(".count ").append(operations[i].sum()).append('\n');
+            sb.append("calc.").append(OPERATION_NAMES[i]).append(".failures ").append(operationFailures[i].sum()).append('\n');
+        }
+        sb.append("parser.evaluations ").append(getEvaluationCount()).append('\n');
+        sb.append("parser.compilations ").append(getCompilationCount()).append('\n');
+        sb.append("parser.compilations.errors ").append(getCompilationErrorCount()).append('\n');
+        sb.append("parser.tokens ").append(getTokenCount()).append('\n');
+        sb.append("parser.errors.parse ").append(getParseErrorCount()).append('\n');
+        sb.append("parser.errors.not_enough_operands ").append(getNotEnoughOperandsCount()).append('\n');
+        sb.append("parser.errors.divide_by_zero ").append(getDivideByZeroCount()).append('\n');
+        sb.append("parser.error_rate ").append(getErrorRate()).append('\n');
+        sb.append("parser.latency.mean_us ").append(getLatencyMeanMicros()).append('\n');
+        sb.append("parser.latency.p50_us ").append(getLatencyP50Micros()).append('\n');
+        sb.append("parser.latency.p90_us ").append(getLatencyP90Micros()).append('\n');
+        sb.append("parser.latency.p99_us ").append(getLatencyP99Micros()).append('\n');
+        sb.append("parser.latency.p999_us ").append(getLatencyP999Micros()).append('\n');
+        sb.append("parser.latency.max_us ").append(getLatencyMaxMicros()).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * Retourne l'histogramme des latences d'évaluation.
+     *
+     * @return L'histogramme, en nanosecondes.
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+
+    /**
+     * Retourne le nombre d'appels à chaque opération de Calc, échecs compris.
+     */
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return toMap(operations);
+    }
+
+    /**
+     * Retourne le nombre d'appels à chaque opération de Calc ayant levé une exception.
+     */
+    @Override
+    public Map<String, Long> getOperationFailureCounts() {
+        return toMap(operationFailures);
+    }
+
+    /**
+     * Retourne le nombre d'expressions évaluées par le parseur.
+     */
+    @Override
+    public long getEvaluationCount() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Retourne le nombre d'expressions compilées par le parseur.
+     */
+    @Override
+    public long getCompilationCount() {
+        return compilations.sum();
+    }
+
+    /**
+     * Retourne le nombre de compilations ayant levé une ParseException.
+     */
+    @Override
+    public long getCompilationErrorCount() {
+        return compilationErrors.sum();
+    }
+
+    /**
+     * Retourne le nombre de tokens des expressions évaluées et compilées, échecs compris.
+     */
+    @Override
+    public long getTokenCount() {
+        return tokens.sum();
+    }
+
+    /**
+     * Retourne le nombre d'évaluations ayant levé une ParseException.
+     */
+    @Override
+    public long getParseErrorCount() {
+        return parseErrors.sum();
+    }
+
+    /**
+     * Retourne le nombre d'évaluations ayant levé une NotEnoughOperandsOnStackException.
+     */
+    @Override
+    public long getNotEnoughOperandsCount() {
+        return notEnoughOperands.sum();
+    }
+
+    /**
+     * Retourne le nombre d'évaluations ayant levé une DivideByZeroException.
+     */
+    @Override
+    public long getDivideByZeroCount() {
+        return divideByZero.sum();
+    }
+
+    /**
+     * Retourne la proportion d'évaluations en échec, entre 0 et 1.
+     */
+    @Override
+    public double getErrorRate() {
+        long count = getEvaluationCount();
+        return count == 0 ? 0 : (double) (getParseErrorCount() + getNotEnoughOperandsCount() + getDivideByZeroCount()) / count;
+    }
+
+    /**
+     * Retourne la latence moyenne d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyMeanMicros() {
+        return latency.getMean() / 1e3;
+    }
+
+    /**
+     * Retourne la latence médiane d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyP50Micros() {
+        return latency.getPercentile(50) / 1e3;
+    }
+
+    /**
+     * Retourne le 90e percentile de la latence d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyP90Micros() {
+        return latency.getPercentile(90) / 1e3;
+    }
+
+    /**
+     * Retourne le 99e percentile de la latence d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyP99Micros() {
+        return latency.getPercentile(99) / 1e3;
+    }
+
+    /**
+     * Retourne le 99,9e percentile de la latence d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyP999Micros() {
+        return latency.getPercentile(99.9) / 1e3;
+    }
+
+    /**
+     * Retourne la plus longue latence d'évaluation, en microsecondes.
+     */
+    @Override
+    public double getLatencyMaxMicros() {
+        return latency.getMax() / 1e3;
+    }
+
+    /**
+     * Remet tous les compteurs et l'histogramme des latences à zéro.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATION_NAMES.length; i++) {
+            operations[i].reset();
+            operationFailures[i].reset();
+        }
+        evaluations.reset();
+        compilations.reset();
+        compilationErrors.reset();
+        tokens.reset();
+        parseErrors.reset();
+        notEnoughOperands.reset();
+        divideByZero.reset();
+        latency.reset();
+    }
+
+    /**
+     * Compte un appel à une opération de Calc.
+     */
+    void operation(int operation) {
+        operations[operation].increment();
+    }
+
+    /**
+     * Compte un échec d'une opération de Calc.
+     */
+    void operationFailure(int operation) {
+        operationFailures[operation].increment();
+    }
+
+    /**
+     * Compte une évaluation et sa latence.
+     */
+    void evaluation(int tokenCount, long latencyNanos) {
+        evaluations.increment();
+        tokens.add(tokenCount);
+        latency.record(latencyNanos);
+    }
+
+    /**
+     * Compte une compilation, réussie ou non, et les tokens de son expression.
+     */
+    void compilation(int tokenCount) {
+        compilations.increment();
+        tokens.add(tokenCount);
+    }
+
+    /**
+     * Compte l'échec d'une compilation.
+     */
+    void compilationError() {
+        compilationErrors.increment();
+    }
+
+    /**
+     * Compte l'erreur d'une évaluation selon son type.
+     */
+    void evaluationError(Exception error) {
+        if (error instanceof DivideByZeroException) {
+            divideByZero.increment();
+        } else if (error instanceof NotEnoughOperandsOnStackException) {
+            notEnoughOperands.increment();
+        } else {
+            parseErrors.increment();
+        }
+    }
+
+    private static Map<String, Long> toMap(LongAdder[] adders) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < OPERATION_NAMES.length; i++) {
+            map.put(OPERATION_NAMES[i], adders[i].sum());
+        }
+        return map;
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
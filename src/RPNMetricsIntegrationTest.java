@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNMetrics, LatencyHistogram et les décorateurs
+ * InstrumentedCalc et InstrumentedRPNParser.
+ */
+public class RPNMetricsIntegrationTest {
+
+    private RPNMetrics metrics;
+    private RPNParser parser;
+
+    /**
+     * Configure un parseur instrumenté sur une calculatrice instrumentée partageant les mêmes métriques.
+     */
+    @BeforeEach
+    public void setUp() {
+        metrics = new RPNMetrics();
+        parser = new InstrumentedRPNParser(
+                new RPNParserImpl(new InstrumentedCalc(new CalcImpl(new StackImpl()), metrics)), metrics);
+    }
+
+    /**
+     * Teste les percentiles de l'histogramme : exacts pour les petites valeurs,
+     * à 12,5 % près au-delà.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMean(), 1e-9);
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / 8.0);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / 8.0);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+
+        histogram.reset();
+        histogram.record(5);
+        assertEquals(5, histogram.getPercentile(50));
+    }
+
+    /**
+     * Teste que chaque valeur est inférieure ou égale à la borne de son intervalle,
+     * et supérieure à celle de l'intervalle précédent.
+     */
+    @Test
+    public void testHistogramBuckets() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(value <= LatencyHistogram.upperBound(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.upperBound(index - 1), "value " + value);
+            }
+        }
+    }
+
+    /**
+     * Teste le comptage des opérations, des évaluations, des tokens et des erreurs.
+     */
+    @Test
+    public void testCounters() throws Exception {
+        assertEquals(7, parser.parseAndDisplayResult("1 2 * 5 +"));
+        assertThrows(DivideByZeroException.class, () -> parser.parseAndDisplayResult("1 0 /"));
+        assertThrows(ParseException.class, () -> parser.parseAndDisplayResult("1 x +"));
+
+        assertEquals(3, metrics.getEvaluationCount());
+        assertEquals(11, metrics.getTokenCount());
+        assertEquals(1, metrics.getDivideByZeroCount());
+        assertEquals(1, metrics.getParseErrorCount());
+        assertEquals(0, metrics.getNotEnoughOperandsCount());
+        assertEquals(2.0 / 3, metrics.getErrorRate(), 1e-12);
+        assertEquals(1L, metrics.getOperationCounts().get("multiply"));
+        assertEquals(1L, metrics.getOperationCounts().get("divide"));
+        assertEquals(1L, metrics.getOperationFailureCounts().get("divide"));
+        assertEquals(0L, metrics.getOperationFailureCounts().get("add"));
+        assertEquals(3, metrics.getLatencyHistogram().getCount());
+        assertTrue(metrics.getLatencyMaxMicros() >= metrics.getLatencyP50Micros());
+
+        parser.compile("1 2 + 3 *");
+        assertEquals(1, metrics.getCompilationCount());
+        assertEquals(16, metrics.getTokenCount());
+        assertThrows(ParseException.class, () -> parser.compile("1 ? +"));
+        assertEquals(2, metrics.getCompilationCount());
+        assertEquals(1, metrics.getCompilationErrorCount());
+        assertEquals(19, metrics.getTokenCount());
+        assertEquals(1, metrics.getParseErrorCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getEvaluationCount());
+        assertEquals(0L, metrics.getOperationCounts().get("multiply"));
+        assertEquals(0, metrics.getLatencyHistogram().getCount());
+    }
+
+    /**
+     * Teste le comptage des tokens, quels que soient les espaces qui les séparent.
+     */
+    @Test
+    public void testCountTokens() {
+        assertEquals(0, InstrumentedRPNParser.countTokens(""));
+        assertEquals(0, InstrumentedRPNParser.countTokens("  \t "));
+        assertEquals(3, InstrumentedRPNParser.countTokens(" 1\t 2  + "));
+    }
+
+    /**
+     * Teste le format texte des métriques.
+     */
+    @Test
+    public void testSnapshot() throws Exception {
+        parser.parseAndDisplayResult("3 4 +");
+        String snapshot = metrics.snapshot();
+        assertTrue(snapshot.contains("calc.add.count 1\n"), snapshot);
+        assertTrue(snapshot.contains("calc.enterValue.count 2\n"), snapshot);
+        assertTrue(snapshot.contains("parser.evaluations 1\n"), snapshot);
+        assertTrue(snapshot.contains("parser.tokens 3\n"), snapshot);
+        assertTrue(snapshot.contains("parser.latency.p99_us "), snapshot);
+    }
+
+    /**
+     * Teste la lecture des métriques via le serveur MBean de la plateforme.
+     */
+    @Test
+    public void testJmxRegistration() throws Exception {
+        parser.parseAndDisplayResult("1 2 +");
+        ObjectName name = metrics.register("test-" + System.nanoTime());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "EvaluationCount"));
+            assertEquals(0.0, server.getAttribute(name, "ErrorRate"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "EvaluationCount"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
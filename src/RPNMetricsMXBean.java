@@ -0,0 +1,72 @@
+import java.util.Map;
+
+public interface RPNMetricsMXBean {
+    /**
+     * @return the number of calls to each Calc operation, failed ones included
+     */
+    Map<String, Long> getOperationCounts();
+    /**
+     * @return the number of Calc operations that threw, per operation
+     */
+    Map<String, Long> getOperationFailureCounts();
+    /**
+     * @return the number of expressions evaluated by the parser
+     */
+    long getEvaluationCount();
+    /**
+     * @return the number of expressions compiled by the parser
+     */
+    long getCompilationCount();
+    /**
+     * @return the number of compilations that threw a ParseException
+     */
+    long getCompilationErrorCount();
+    /**
+     * @return the number of tokens in evaluated and compiled expressions, failed ones included
+     */
+    long getTokenCount();
+    /**
+     * @return the number of evaluations that threw a ParseException
+     */
+    long getParseErrorCount();
+    /**
+     * @return the number of evaluations that threw a NotEnoughOperandsOnStackException
+     */
+    long getNotEnoughOperandsCount();
+    /**
+     * @return the number of evaluations that threw a DivideByZeroException
+     */
+    long getDivideByZeroCount();
+    /**
+     * @return the share of evaluations that failed, between 0 and 1
+     */
+    double getErrorRate();
+    /**
+     * @return the mean evaluation latency in microseconds
+     */
+    double getLatencyMeanMicros();
+    /**
+     * @return the median evaluation latency in microseconds
+     */
+    double getLatencyP50Micros();
+    /**
+     * @return the 90th percentile of the evaluation latency in microseconds
+     */
+    double getLatencyP90Micros();
+    /**
+     * @return the 99th percentile of the evaluation latency in microseconds
+     */
+    double getLatencyP99Micros();
+    /**
+     * @return the 99.9th percentile of the evaluation latency in microseconds
+     */
+    double getLatencyP999Micros();
+    /**
+     * @return the longest evaluation latency in microseconds
+     */
+    double getLatencyMaxMicros();
+    /**
+     * resets every counter and the latency histogram
+     */
+    void reset();
+}
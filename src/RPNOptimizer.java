@@ -0,0 +1,241 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Une passe d'optimisation sur les RPNProgram, à appliquer entre la compilation et l'évaluation.
+ * Le programme est d'abord reconstruit sous forme d'arbre, puis chaque nœud est simplifié dès sa création :
+ * <ul>
+ *     <li>les sous-arbres ne contenant que des constantes sont calculés une fois pour toutes
+ *     (une division par une constante nulle est conservée, pour lever DivideByZeroException à l'évaluation) ;</li>
+ *     <li>les identités exactes en IEEE 754, y compris pour -0.0, NaN et les infinis, sont éliminées :
+ *     {@code x * 1}, {@code 1 * x}, {@code x / 1}, {@code x - 0} et {@code x + -0} (dans les deux sens) ;</li>
+ *     <li>sur demande, {@code a * b + c} devient une instruction MULTIPLY_ADD évaluée par Math.fma ;
+ *     sur une Calc qui ne redéfinit pas multiplyAdd, elle revient à une multiplication suivie d'une addition.</li>
+ * </ul>
+ * Seule la fusion multiplication-addition change les résultats : un seul arrondi au lieu de deux.
+ * Elle est donc désactivée par défaut. Un programme qui manque d'opérandes est retourné tel quel,
+ * afin que l'erreur soit signalée à l'évaluation comme sans optimisation.
+ * Une instance ne conserve aucun état entre deux appels et peut être partagée entre threads.
+ */
+public final class RPNOptimizer {
+
+    private static final PrintStream DEFAULT_DEBUG = Boolean.getBoolean("rpn.optimizer.debug") ? System.err : null;
+
+    private final boolean fuseMultiplyAdd;
+    private final PrintStream debug;
+
+    /**
+     * Construit un optimiseur sans fusion multiplication-addition. Si la propriété système
+     * {@code rpn.optimizer.debug} vaut {@code true}, chaque programme est affiché sur la sortie
+     * d'erreur avant et après optimisation.
+     */
+    public RPNOptimizer() {
+        this(false, DEFAULT_DEBUG);
+    }
+
+    /**
+     * Construit un optimiseur.
+     *
+     * @param fuseMultiplyAdd {@code true} pour remplacer {@code a * b + c} par Math.fma.
+     * @param debug Le flux recevant l'affichage de chaque programme avant et après optimisation,
+     *              ou {@code null} pour ne rien afficher.
+     */
+    public RPNOptimizer(boolean fuseMultiplyAdd, PrintStream debug) {
+        this.fuseMultiplyAdd = fuseMultiplyAdd;
+        this.debug = debug;
+    }
+
+    /**
+     * Optimise un programme. Les variables du résultat conservent les indices de l'original,
+     * même si certaines ne sont plus référencées, afin que les appelants n'aient pas à changer
+     * l'ordre de leurs valeurs.
+     *
+     * @param program Le programme à optimiser.
+     * @return Le programme optimisé, ou {@code program} lui-même s'il manque d'opérandes.
+     */
+    public RPNProgram optimize(RPNProgram program) {
+        List<Node> roots = buildTree(program);
+        RPNProgram optimized = roots == null ? program : emit(roots, program.getVariableNames());
+        if (debug != null) {
+            debug.print(dump(program, optimized));
+        }
+        return optimized;
+    }
+
+    /**
+     * Produit le désassemblage d'un programme avant et après optimisation.
+     *
+     * @param before Le programme d'origine.
+     * @param after Le programme optimisé.
+     * @return Les deux désassemblages, précédés de leur nombre d'instructions.
+     */
+    public static String dump(RPNProgram before, RPNProgram after) {
+        return "-- before: " + before.getInstructionCount() + " instructions\n" + before
+                + "-- after: " + after.getInstructionCount() + " instructions\n" + after;
+    }
+
+    /**
+     * Reconstruit l'arbre du programme en simplifiant chaque nœud à sa création. Les opérandes
+     * d'un nœud sont toujours simplifiés avant lui, ce qui évite toute récursion.
+     *
+     * @return Les racines, de la plus ancienne au sommet de la pile, ou {@code null} si une opération manque d'opérandes.
+     */
+    private List<Node> buildTree(RPNProgram program) {
+        double[] constants = program.getConstantPool();
+        List<Node> stack = new ArrayList<>();
+        for (int i = 0; i < program.getInstructionCount(); i++) {
+            byte opCode = program.getOpCode(i);
+            int operandCount = OpCode.operandCount(opCode);
+            int size = stack.size();
+            if (size < operandCount) {
+                return null;
+            }
+            Node node;
+            switch (opCode) {
+                case OpCode.PUSH_CONST -> node = Node.constant(constants[program.getOperand(i)]);
+                case OpCode.PUSH_VAR -> node = new Node(OpCode.PUSH_VAR, 0, program.getOperand(i));
+                case OpCode.MULTIPLY_ADD -> node = multiplyAdd(stack.get(size - 3), stack.get(size - 2), stack.get(size - 1));
+                default -> node = binary(opCode, stack.get(size - 2), stack.get(size - 1));
+            }
+            stack.subList(size - operandCount, size).clear();
+            stack.add(node);
+        }
+        return stack;
+    }
+
+    /**
+     * Simplifie une opération binaire dont les opérandes sont déjà simplifiés.
+     */
+    private Node binary(byte opCode, Node left, Node right) {
+        if (left.isConstant() && right.isConstant() && !(opCode == OpCode.DIVIDE && right.value == 0)) {
+            return Node.constant(switch (opCode) {
+                case OpCode.ADD -> left.value + right.value;
+                case OpCode.SUBTRACT -> left.value - right.value;
+                case OpCode.MULTIPLY -> left.value * right.value;
+                case OpCode.DIVIDE -> left.value / right.value;
+                default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+            });
+        }
+        switch (opCode) {
+            case OpCode.MULTIPLY -> {
+                if (right.isConstant(1.0)) {
+                    return left;
+                }
+                if (left.isConstant(1.0)) {
+                    return right;
+                }
+            }
+            case OpCode.DIVIDE -> {
+                if (right.isConstant(1.0)) {
+                    return left;
+                }
+            }
+            case OpCode.SUBTRACT -> {
+                if (right.isConstant(0.0)) {
+                    return left;
+                }
+                if (fuseMultiplyAdd && left.opCode == OpCode.MULTIPLY && right.isConstant()) {
+                    return new Node(OpCode.MULTIPLY_ADD, left.operands[0], left.operands[1], Node.constant(-right.value));
+                }
+            }
+            case OpCode.ADD -> {
+                if (right.isConstant(-0.0)) {
+                    return left;
+                }
+                if (left.isConstant(-0.0)) {
+                    return right;
+                }
+                if (fuseMultiplyAdd && left.opCode == OpCode.MULTIPLY) {
+                    return new Node(OpCode.MULTIPLY_ADD, left.operands[0], left.operands[1], right);
+                }
+                if (fuseMultiplyAdd && right.opCode == OpCode.MULTIPLY) {
+                    return new Node(OpCode.MULTIPLY_ADD, right.operands[0], right.operands[1], left);
+                }
+            }
+            default -> {
+            }
+        }
+        return new Node(opCode, left, right);
+    }
+
+    /**
+     * Simplifie une multiplication-addition déjà présente dans le programme.
+     */
+    private static Node multiplyAdd(Node a, Node b, Node c) {
+        if (a.isConstant() && b.isConstant() && c.isConstant()) {
+            return Node.constant(Math.fma(a.value, b.value, c.value));
+        }
+        return new Node(OpCode.MULTIPLY_ADD, a, b, c);
+    }
+
+    /**
+     * Produit le programme correspondant aux racines, par un parcours postfixe itératif :
+     * un parcours préfixe qui visite les opérandes de droite à gauche, lu à l'envers.
+     */
+    private static RPNProgram emit(List<Node> roots, String[] variableNames) {
+        RPNProgramBuilder builder = new RPNProgramBuilder(variableNames);
+        for (Node root : roots) {
+            List<Node> reversed = new ArrayList<>();
+            List<Node> pending = new ArrayList<>();
+            pending.add(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.remove(pending.size() - 1);
+                reversed.add(node);
+                for (Node operand : node.operands) {
+                    pending.add(operand);
+                }
+            }
+            for (int i = reversed.size() - 1; i >= 0; i--) {
+                Node node = reversed.get(i);
+                switch (node.opCode) {
+                    case OpCode.PUSH_CONST -> builder.pushConstant(node.value);
+                    case OpCode.PUSH_VAR -> builder.pushVariable(variableNames[node.variable]);
+                    default -> builder.operation(node.opCode);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Un nœud de l'arbre d'expression : une constante, une variable ou une opération et ses opérandes.
+     */
+    private static final class Node {
+        private static final Node[] NO_OPERANDS = new Node[0];
+
+        final byte opCode;
+        final double value;
+        final int variable;
+        final Node[] operands;
+
+        Node(byte opCode, double value, int variable) {
+            this.opCode = opCode;
+            this.value = value;
+            this.variable = variable;
+            this.operands = NO_OPERANDS;
+        }
+
+        Node(byte opCode, Node... operands) {
+            this.opCode = opCode;
+            this.value = 0;
+            this.variable = 0;
+            this.operands = operands;
+        }
+
+        static Node constant(double value) {
+            return new Node(OpCode.PUSH_CONST, value, 0);
+        }
+
+        boolean isConstant() {
+            return opCode == OpCode.PUSH_CONST;
+        }
+
+        /**
+         * Compare au bit près, pour distinguer 0.0 de -0.0.
+         */
+        boolean isConstant(double expected) {
+            return isConstant() && Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(expected);
+        }
+    }
+}
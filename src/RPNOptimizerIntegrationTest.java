@@ -0,0 +1,168 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNOptimizer.
+ * Ces tests vérifient les réécritures effectuées et comparent les programmes optimisés
+ * aux programmes d'origine avec chacun des évaluateurs.
+ */
+public class RPNOptimizerIntegrationTest {
+
+    private RPNParser parser;
+    private RPNOptimizer optimizer;
+    private RPNOptimizer fusingOptimizer;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        parser = new RPNParserImpl(new CalcImpl(new StackImpl()));
+        optimizer = new RPNOptimizer(false, null);
+        fusingOptimizer = new RPNOptimizer(true, null);
+    }
+
+    /**
+     * Teste le calcul des sous-expressions constantes.
+     */
+    @Test
+    public void testConstantFolding() throws Exception {
+        RPNProgram program = optimizer.optimize(parser.compile("2 3 * x +"));
+        assertEquals(parser.compile("6 x +"), program);
+        assertEquals(parser.compile("2.5"), optimizer.optimize(parser.compile("1 2 + 4 * 2 / 3.5 -")));
+        assertEquals(11.0, program.evaluate(new CalcImpl(new StackImpl()), 5));
+    }
+
+    /**
+     * Teste qu'une division par une constante nulle est conservée pour échouer à l'évaluation.
+     */
+    @Test
+    public void testDivisionByZeroIsNotFolded() throws Exception {
+        RPNProgram program = optimizer.optimize(parser.compile("1 0 / x +"));
+        assertEquals(parser.compile("1 0 / x +"), program);
+        assertThrows(DivideByZeroException.class, () -> program.evaluate(new CalcImpl(new StackImpl()), 1));
+    }
+
+    /**
+     * Teste l'élimination des identités exactes, et la conservation de celles qui ne le sont pas.
+     */
+    @Test
+    public void testIdentities() throws Exception {
+        assertEquals(parser.compile("x"), optimizer.optimize(parser.compile("x 1 * 1 / 0 - -0 +")));
+        assertEquals(parser.compile("x"), optimizer.optimize(parser.compile("-0 1 x * +")));
+        assertEquals(parser.compile("x 0 +"), optimizer.optimize(parser.compile("x 0 +")));
+        assertEquals(parser.compile("x 0 *"), optimizer.optimize(parser.compile("x 0 *")));
+        assertEquals(parser.compile("x -0 -"), optimizer.optimize(parser.compile("x -0 -")));
+    }
+
+    /**
+     * Teste que l'optimisation sans fusion ne change aucun résultat, y compris pour -0.0, NaN et les infinis.
+     */
+    @Test
+    public void testOptimizedProgramsGiveIdenticalResults() throws Exception {
+        String[] expressions = {"x 1 * 1 / 0 - -0 +", "-0 x +", "2 3 * x + 1 *", "x 0 +", "x y * 1 1 + / y -"};
+        double[] values = {0.0, -0.0, 1.5, -7, Double.NaN, Double.POSITIVE_INFINITY, 1e-320};
+        for (String expression : expressions) {
+            RPNProgram original = parser.compile(expression);
+            RPNProgram optimized = optimizer.optimize(original);
+            for (double x : values) {
+                double[] variables = original.getVariableCount() == 1 ? new double[]{x} : new double[]{x, 3};
+                double expected = original.evaluate(new CalcImpl(new StackImpl()), variables);
+                double actual = optimized.evaluate(new CalcImpl(new StackImpl()), variables);
+                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), expression + " with " + x);
+            }
+        }
+    }
+
+    /**
+     * Teste la fusion multiplication-addition, dans les deux ordres de l'addition.
+     */
+    @Test
+    public void testMultiplyAddFusion() throws Exception {
+        RPNProgram program = fusingOptimizer.optimize(parser.compile("z x y * +"));
+        assertEquals(4, program.getInstructionCount());
+        assertEquals(OpCode.MULTIPLY_ADD, program.getOpCode(3));
+        assertArrayEquals(new String[]{"z", "x", "y"}, program.getVariableNames());
+        assertEquals(Math.fma(0.1, 10.0, -1.0), program.evaluate(new CalcImpl(new StackImpl()), -1.0, 0.1, 10.0));
+
+        RPNProgram subtraction = fusingOptimizer.optimize(parser.compile("x y * 1 -"));
+        assertEquals(Math.fma(0.1, 10.0, -1.0), subtraction.evaluate(new CalcImpl(new StackImpl()), 0.1, 10.0));
+        assertEquals(parser.compile("x y * z +"), optimizer.optimize(parser.compile("x y * z +")));
+    }
+
+    /**
+     * Teste que tous les évaluateurs calculent MULTIPLY_ADD avec un seul arrondi.
+     */
+    @Test
+    public void testMultiplyAddInAllEvaluators() throws Exception {
+        RPNProgram program = fusingOptimizer.optimize(parser.compile("x y * z + 2 *"));
+        int rows = 2000;
+        double[][] columns = new double[3][rows];
+        double[] expected = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            columns[0][i] = 0.1 * (i + 1);
+            columns[1][i] = 10.0 / (i + 1);
+            columns[2][i] = -1.0;
+            expected[i] = 2 * Math.fma(columns[0][i], columns[1][i], columns[2][i]);
+        }
+        assertArrayEquals(expected, program.evaluateColumns(columns));
+        assertArrayEquals(expected, new BatchEvaluator(true).evaluate(program, columns));
+        assertArrayEquals(expected, new BatchEvaluator(false).evaluate(program, columns));
+
+        CompiledFormula formula = RPNJit.compile(program);
+        RPNEvaluator evaluator = new RPNEvaluator();
+        EvaluationResult result = new EvaluationResult();
+        for (int i = 0; i < rows; i += 97) {
+            double[] variables = {columns[0][i], columns[1][i], columns[2][i]};
+            assertEquals(expected[i], program.evaluate(new CalcImpl(new StackImpl()), variables));
+            assertEquals(expected[i], formula.evaluate(variables));
+            assertEquals(EvaluationResult.OK, evaluator.evaluate(program, variables, result));
+            assertEquals(expected[i], result.getValue());
+        }
+    }
+
+    /**
+     * Teste qu'un programme qui manque d'opérandes est retourné sans modification.
+     */
+    @Test
+    public void testUnderflowingProgramIsUnchanged() throws Exception {
+        RPNProgram program = parser.compile("2 3 * +");
+        assertSame(program, optimizer.optimize(program));
+    }
+
+    /**
+     * Teste que toutes les valeurs laissées sur la pile sont conservées, dans leur ordre.
+     */
+    @Test
+    public void testSeveralResultsAreKept() throws Exception {
+        assertEquals(parser.compile("3 x 12"), optimizer.optimize(parser.compile("1 2 + x 1 * 3 4 *")));
+    }
+
+    /**
+     * Teste l'affichage du programme avant et après optimisation.
+     */
+    @Test
+    public void testDebugDump() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RPNOptimizer debugOptimizer = new RPNOptimizer(false, new PrintStream(output, true, StandardCharsets.UTF_8));
+        debugOptimizer.optimize(parser.compile("2 3 * x +"));
+        String dump = output.toString(StandardCharsets.UTF_8);
+        assertEquals("-- before: 5 instructions\n0: push 2.0\n1: push 3.0\n2: *\n3: load x\n4: +\n"
+                + "-- after: 3 instructions\n0: push 6.0\n1: load x\n2: +\n", dump);
+    }
+
+    /**
+     * Teste que RPNParserImpl applique l'optimiseur fourni lors de la compilation.
+     */
+    @Test
+    public void testParserAppliesOptimizer() throws Exception {
+        RPNParser optimizingParser = new RPNParserImpl(new CalcImpl(new StackImpl()), optimizer);
+        assertEquals(parser.compile("6 x +"), optimizingParser.compile("2 3 * x +"));
+    }
+}
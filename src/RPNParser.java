@@ -8,4 +8,10 @@ public interface RPNParser {
      */
     double parseAndDisplayResult(String toParse) throws
             NotEnoughOperandsOnStackException, DivideByZeroException, ParseException;
+    /**
+     * compiles the string once into a program that can be evaluated many times
+     * @param toParse
+     * @return the compiled program
+     */
+    RPNProgram compile(String toParse) throws ParseException;
 }
\ No newline at end of file
@@ -3,10 +3,20 @@ import java.text.ParseException;
 /**
  * Une implémentation de l'interface RPNParser qui interprète et évalue des expressions
  * en notation polonaise inversée (RPN).
+ * L'analyse lexicale est confiée à RPNTokenizer, qui parcourt l'expression en une seule passe.
+ * Les tokens sont transmis à Calc par lots, via {@link Calc#execute(byte[], double[], int)},
+ * plutôt qu'un appel par token.
  */
 public class RPNParserImpl implements RPNParser {
 
+    /** Le nombre maximal de tokens transmis à Calc par un même appel à execute. */
+    private static final int BATCH_SIZE = 256;
+
     private final Calc calc;
+    private final RPNOptimizer optimizer;
+    private final RPNTokenizer tokenizer = new RPNTokenizer();
+    private final byte[] batchOpCodes = new byte[BATCH_SIZE];
+    private final double[] batchOperands = new double[BATCH_SIZE];
 
     /**
      * Construit un nouveau parseur RPN avec une instance spécifique de Calc.
@@ -14,7 +24,18 @@ public class RPNParserImpl implements RPNParser {
      * @param calc L'instance de Calc à utiliser pour les calculs.
      */
     public RPNParserImpl(Calc calc) {
+        this(calc, null);
+    }
+
+    /**
+     * Construit un nouveau parseur RPN dont les programmes compilés passent par un optimiseur.
+     *
+     * @param calc L'instance de Calc à utiliser pour les calculs.
+     * @param optimizer L'optimiseur appliqué par {@link #compile(String)}, ou {@code null} pour aucun.
+     */
+    public RPNParserImpl(Calc calc, RPNOptimizer optimizer) {
         this.calc = calc;
+        this.optimizer = optimizer;
     }
 
     /**
@@ -28,25 +49,96 @@ public class RPNParserImpl implements RPNParser {
      */
     @Override
     public double parseAndDisplayResult(String toParse) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
-        toParse = toParse.trim().replaceAll("\\s+", " ");
-        String[] tokens = toParse.split(" ");
-
-        for (String token : tokens) {
-            switch (token) {
-                case "+" -> calc.add();
-                case "-" -> calc.subtract();
-                case "*" -> calc.multiply();
-                case "/" -> calc.divide();
-                default -> {
-                    try {
-                        calc.enterValue(Double.parseDouble(token));
-                    } catch (NumberFormatException e) {
-                        throw new ParseException("Invalid token: " + token, toParse.indexOf(token));
-                    }
-                }
+        return parseAndDisplayResult((CharSequence) toParse);
+    }
+
+    /**
+     * Analyse une séquence de caractères en notation polonaise inversée et retourne le résultat
+     * de l'évaluation, sans créer de chaîne intermédiaire.
+     *
+     * @param toParse La séquence en notation RPN à analyser.
+     * @return Le résultat de l'évaluation de l'expression RPN.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si la séquence est vide ou contient des tokens non valides.
+     */
+    public double parseAndDisplayResult(CharSequence toParse) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        tokenizer.reset(toParse);
+        int type = tokenizer.next();
+        if (type == RPNTokenizer.END) {
+            throw new ParseException("Empty expression", 0);
+        }
+
+        int count = 0;
+        int pushes = 0;
+        for (; type != RPNTokenizer.END; type = tokenizer.next()) {
+            if (type == RPNTokenizer.NUMBER) {
+                batchOperands[pushes++] = tokenizer.number();
+                batchOpCodes[count++] = OpCode.PUSH_CONST;
+            } else if (type == RPNTokenizer.OPERATOR) {
+                batchOpCodes[count++] = tokenizer.opCode();
+            } else {
+                // Les tokens précédents s'exécutent d'abord : une erreur de leur part reste prioritaire.
+                calc.execute(batchOpCodes, batchOperands, count);
+                throw invalidToken(tokenizer);
+            }
+            if (count == BATCH_SIZE) {
+                calc.execute(batchOpCodes, batchOperands, count);
+                count = 0;
+                pushes = 0;
             }
         }
+        calc.execute(batchOpCodes, batchOperands, count);
 
         return calc.displayValueOnTop();
     }
+
+    /**
+     * Compile une chaîne en notation polonaise inversée en un RPNProgram réutilisable.
+     * L'analyse lexicale n'est effectuée qu'une seule fois ; les constantes identiques
+     * partagent la même entrée du pool. Contrairement à parseAndDisplayResult, les noms
+     * de variables (par exemple "x y * 2 +") sont acceptés et associés à un indice.
+     * La position de chaque token est conservée, afin que {@link RPNProgram#verify()} puisse
+     * signaler avant l'exécution l'opération qui manquerait d'opérandes.
+     * Si un RPNOptimizer a été fourni au constructeur, le programme lui est confié avant d'être retourné.
+     *
+     * @param toParse La chaîne en notation RPN à compiler.
+     * @return Le programme compilé.
+     * @throws ParseException Si la chaîne est vide ou contient des tokens non valides.
+     */
+    @Override
+    public RPNProgram compile(String toParse) throws ParseException {
+        RPNProgramBuilder builder = new RPNProgramBuilder();
+        RPNTokenizer programTokenizer = new RPNTokenizer(toParse);
+        int type = programTokenizer.next();
+        if (type == RPNTokenizer.END) {
+            throw new ParseException("Empty expression", 0);
+        }
+
+        for (; type != RPNTokenizer.END; type = programTokenizer.next()) {
+            builder.sourcePosition(programTokenizer.tokenStart());
+            if (type == RPNTokenizer.NUMBER) {
+                builder.pushConstant(programTokenizer.number());
+            } else if (type == RPNTokenizer.OPERATOR) {
+                builder.operation(programTokenizer.opCode());
+            } else if (type == RPNTokenizer.IDENTIFIER) {
+                builder.pushVariable(programTokenizer.tokenText());
+            } else {
+                throw invalidToken(programTokenizer);
+            }
+        }
+
+        RPNProgram program = builder.build();
+        return optimizer == null ? program : optimizer.optimize(program);
+    }
+
+    /**
+     * Construit l'exception signalant le token courant comme invalide.
+     *
+     * @param tokenizer L'analyseur positionné sur le token fautif.
+     * @return Une ParseException indiquant le token et sa position.
+     */
+    private static ParseException invalidToken(RPNTokenizer tokenizer) {
+        return new ParseException("Invalid token: " + tokenizer.tokenText(), tokenizer.tokenStart());
+    }
 }
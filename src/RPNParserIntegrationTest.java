@@ -256,4 +256,115 @@ public class RPNParserIntegrationTest {
         assertEquals(0.0, parser.parseAndDisplayResult("5 5 -"));
     }
 
+    /**
+     * Teste qu'un programme compilé peut être évalué plusieurs fois avec le même résultat.
+     */
+    @Test
+    public void testCompileAndEvaluateRepeatedly() throws Exception {
+        RPNProgram program = parser.compile("3 5 2 * + 10 20 - /");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(-1.3, program.evaluate(new CalcImpl(new StackImpl())));
+        }
+    }
+
+    /**
+     * Teste que les constantes identiques partagent une seule entrée du pool.
+     */
+    @Test
+    public void testCompileSharesConstants() throws Exception {
+        RPNProgram program = parser.compile("1 1 1 1 + + +");
+        assertEquals(7, program.getInstructionCount());
+        assertEquals(1, program.getConstants().length);
+        assertEquals(4.0, program.evaluate(new CalcImpl(new StackImpl())));
+    }
+
+    /**
+     * Teste qu'un token invalide est rejeté dès la compilation.
+     */
+    @Test
+    public void testCompileInvalidToken() {
+        assertThrows(ParseException.class, () -> parser.compile("5 & +"));
+        assertThrows(ParseException.class, () -> parser.compile(""));
+    }
+
+    /**
+     * Teste que les erreurs d'exécution d'un programme compilé sont celles de Calc.
+     */
+    @Test
+    public void testCompiledProgramErrors() throws Exception {
+        RPNProgram divideByZero = parser.compile("5 0 /");
+        RPNProgram notEnoughOperands = parser.compile("5 +");
+        assertThrows(DivideByZeroException.class, () -> divideByZero.evaluate(new CalcImpl(new StackImpl())));
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> notEnoughOperands.evaluate(new CalcImpl(new StackImpl())));
+    }
+
+    /**
+     * Teste la vérification statique de la profondeur de pile : la profondeur maximale est connue
+     * et le token qui manque d'opérandes est signalé avec sa position, avant toute exécution.
+     */
+    @Test
+    public void testCompileVerifiesStackDepth() throws Exception {
+        RPNProgram program = parser.compile("1 2 3 * + 4 5 6 7 + + +");
+        program.verify();
+        assertEquals(-1, program.getUnderflowIndex());
+        assertEquals(5, program.getMaxDepth());
+
+        RPNProgram invalid = parser.compile("x 2 +  +  3");
+        assertEquals(3, invalid.getUnderflowIndex());
+        NotEnoughOperandsOnStackException e = assertThrows(NotEnoughOperandsOnStackException.class, invalid::verify);
+        assertEquals(7, e.getPosition());
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> invalid.evaluateColumns(new double[][]{{1}}, new double[1]));
+    }
+
+    /**
+     * Teste que la position d'un token invalide est celle de l'expression d'origine.
+     */
+    @Test
+    public void testInvalidTokenOffset() {
+        ParseException e = assertThrows(ParseException.class, () -> parser.parseAndDisplayResult("5   a +"));
+        assertEquals(4, e.getErrorOffset());
+    }
+
+    /**
+     * Teste la compilation d'une expression avec variables et son évaluation avec Calc.
+     */
+    @Test
+    public void testCompileWithVariables() throws Exception {
+        RPNProgram program = parser.compile("x y * 2 + x -");
+        assertArrayEquals(new String[]{"x", "y"}, program.getVariableNames());
+        assertEquals(11.0, program.evaluate(new CalcImpl(new StackImpl()), 3, 4));
+        assertThrows(IllegalArgumentException.class, () -> program.evaluate(new CalcImpl(new StackImpl()), 3));
+    }
+
+    /**
+     * Teste que parseAndDisplayResult continue de refuser les noms de variables.
+     */
+    @Test
+    public void testVariablesRejectedWhenParsing() {
+        assertThrows(ParseException.class, () -> parser.parseAndDisplayResult("x 1 +"));
+    }
+
+    /**
+     * Teste l'évaluation d'une expression sur des colonnes de valeurs.
+     */
+    @Test
+    public void testEvaluateColumns() throws Exception {
+        RPNProgram program = parser.compile("x y * 2 +");
+        double[] x = {1, 2, 3, -0.5};
+        double[] y = {4, 5, 6, 2};
+        assertArrayEquals(new double[]{6, 12, 20, 1}, program.evaluateColumns(x, y));
+    }
+
+    /**
+     * Teste les erreurs de l'évaluation en colonnes, identiques à celles de CalcImpl.
+     */
+    @Test
+    public void testEvaluateColumnsErrors() throws Exception {
+        RPNProgram division = parser.compile("1 x /");
+        assertThrows(DivideByZeroException.class, () -> division.evaluateColumns(new double[]{1, 0}));
+        RPNProgram underflow = parser.compile("x +");
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> underflow.evaluateColumns(new double[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> division.evaluateColumns(new double[][]{{1}}, new double[2]));
+    }
+
 }
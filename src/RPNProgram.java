@@ -0,0 +1,360 @@
+import java.util.Arrays;
+
+/**
+ * Un programme RPN compilé, produit par {@link RPNParser#compile(String)}.
+ * Le programme est constitué d'un tableau de codes d'opération (voir OpCode), d'un tableau
+ * d'opérandes parallèle, d'un pool de constantes et des noms de ses variables.
+ * Il est immuable et peut donc être partagé entre plusieurs threads, chacun l'évaluant
+ * avec sa propre instance de Calc ou via {@link #evaluateColumns(double[][], double[])}.
+ * <p>
+ * À la construction, la profondeur de la pile est calculée statiquement après chaque instruction.
+ * Le programme connaît ainsi sa profondeur maximale et la première instruction qui manquerait
+ * d'opérandes ; {@link #verify()} signale cette dernière avant toute exécution, ce qui permet aux
+ * évaluateurs de travailler sur un tampon dimensionné d'avance, sans vérification à chaque opération.
+ */
+public final class RPNProgram {
+
+    private final byte[] opCodes;
+    private final int[] operands;
+    private final double[] constants;
+    private final String[] variableNames;
+    private final int[] sourcePositions;
+    private final int maxDepth;
+    private final int underflowIndex;
+    private final byte[] calcOpCodes;
+    private final double[] calcOperands;
+    private final int[] variableSlots;
+
+    /**
+     * Construit un programme à partir de ses tableaux et calcule la profondeur de sa pile.
+     * Les tableaux appartiennent ensuite au programme et ne doivent plus être modifiés par l'appelant.
+     *
+     * @param opCodes Les codes d'opération, dans l'ordre d'exécution.
+     * @param operands Les opérandes associés à chaque instruction.
+     * @param constants Le pool de constantes référencé par les instructions PUSH_CONST.
+     * @param variableNames Les noms des variables, indexés comme les opérandes de PUSH_VAR.
+     * @param sourcePositions La position dans l'expression source du token de chaque instruction, ou -1.
+     */
+    RPNProgram(byte[] opCodes, int[] operands, double[] constants, String[] variableNames, int[] sourcePositions) {
+        this.opCodes = opCodes;
+        this.operands = operands;
+        this.constants = constants;
+        this.variableNames = variableNames;
+        this.sourcePositions = sourcePositions;
+
+        int depth = 0;
+        int deepest = 0;
+        int underflow = -1;
+        for (int i = 0; i < opCodes.length; i++) {
+            int operandCount = OpCode.operandCount(opCodes[i]);
+            if (depth < operandCount) {
+                underflow = i;
+                break;
+            }
+            depth += 1 - operandCount;
+            deepest = Math.max(deepest, depth);
+        }
+        this.maxDepth = deepest;
+        this.underflowIndex = underflow < 0 && depth == 0 ? opCodes.length : underflow;
+
+        // Forme attendue par Calc.execute : les variables deviennent des ajouts de valeurs,
+        // et variableSlots associe l'emplacement de chaque valeur de variable à son indice.
+        int pushes = 0;
+        int variablePushes = 0;
+        for (byte opCode : opCodes) {
+            pushes += opCode == OpCode.PUSH_CONST || opCode == OpCode.PUSH_VAR ? 1 : 0;
+            variablePushes += opCode == OpCode.PUSH_VAR ? 1 : 0;
+        }
+        this.calcOpCodes = new byte[opCodes.length];
+        this.calcOperands = new double[pushes];
+        this.variableSlots = new int[variablePushes * 2];
+        int slot = 0;
+        int variableSlot = 0;
+        for (int i = 0; i < opCodes.length; i++) {
+            if (opCodes[i] == OpCode.PUSH_CONST) {
+                calcOperands[slot++] = constants[operands[i]];
+            } else if (opCodes[i] == OpCode.PUSH_VAR) {
+                variableSlots[variableSlot++] = slot++;
+                variableSlots[variableSlot++] = operands[i];
+            }
+            calcOpCodes[i] = opCodes[i] == OpCode.PUSH_VAR ? OpCode.PUSH_CONST : opCodes[i];
+        }
+    }
+
+    /**
+     * Évalue le programme avec la calculatrice fournie et retourne la valeur au sommet de la pile.
+     * Aucun traitement de chaîne n'est effectué : le programme entier est confié à Calc en un seul
+     * appel à {@link Calc#execute(byte[], double[])}, les variables étant remplacées par leurs valeurs.
+     *
+     * @param calc La calculatrice sur laquelle exécuter le programme.
+     * @param variables Les valeurs des variables, dans l'ordre de {@link #getVariableNames()}.
+     * @return La valeur au sommet de la pile après l'exécution.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws IllegalArgumentException Si le nombre de valeurs ne correspond pas au nombre de variables.
+     */
+    public double evaluate(Calc calc, double... variables) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        checkVariableCount(variables.length);
+        double[] values = calcOperands;
+        if (variableSlots.length > 0) {
+            values = calcOperands.clone();
+            for (int i = 0; i < variableSlots.length; i += 2) {
+                values[variableSlots[i]] = variables[variableSlots[i + 1]];
+            }
+        }
+        calc.execute(calcOpCodes, values);
+        return calc.displayValueOnTop();
+    }
+
+    /**
+     * Évalue le programme sur chaque ligne d'un lot de colonnes et retourne la colonne des résultats.
+     * Voir {@link #evaluateColumns(double[][], double[])}.
+     *
+     * @param columns Une colonne par variable, toutes de même longueur.
+     * @return Un tableau contenant le résultat de chaque ligne.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée sur une ligne.
+     * @throws IllegalArgumentException Si le programme n'a pas de variable ou si les colonnes ne correspondent pas.
+     */
+    public double[] evaluateColumns(double[]... columns) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column is required to determine the row count");
+        }
+        double[] results = new double[columns[0].length];
+        evaluateColumns(columns, results);
+        return results;
+    }
+
+    /**
+     * Évalue le programme sur chaque ligne d'un lot de colonnes. La ligne {@code i} lie chaque
+     * variable à {@code columns[variable][i]} et part d'une pile vide ; son résultat est la
+     * valeur au sommet de la pile, écrite dans {@code results[i]}. Le calcul est effectué sur
+     * une pile primitive locale, avec la même sémantique que CalcImpl.
+     *
+     * @param columns Une colonne par variable, chacune d'au moins {@code results.length} valeurs.
+     * @param results Le tableau recevant les résultats ; sa longueur fixe le nombre de lignes.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération ;
+     *                                           elle est levée avant l'évaluation de la première ligne.
+     * @throws DivideByZeroException Si une division par zéro est tentée sur une ligne.
+     * @throws IllegalArgumentException Si le nombre ou la taille des colonnes ne convient pas.
+     */
+    public void evaluateColumns(double[][] columns, double[] results) throws NotEnoughOperandsOnStackException, DivideByZeroException {
+        int rows = results.length;
+        checkColumns(columns, rows);
+        verify();
+
+        double[] stack = new double[maxDepth];
+        for (int row = 0; row < rows; row++) {
+            int size = 0;
+            for (int i = 0; i < opCodes.length; i++) {
+                byte opCode = opCodes[i];
+                if (opCode == OpCode.PUSH_CONST) {
+                    stack[size++] = constants[operands[i]];
+                } else if (opCode == OpCode.PUSH_VAR) {
+                    stack[size++] = columns[operands[i]][row];
+                } else if (opCode == OpCode.MULTIPLY_ADD) {
+                    size -= 2;
+                    stack[size - 1] = Math.fma(stack[size - 1], stack[size], stack[size + 1]);
+                } else {
+                    double value1 = stack[--size];
+                    double value2 = stack[size - 1];
+                    switch (opCode) {
+                        case OpCode.ADD -> stack[size - 1] = value2 + value1;
+                        case OpCode.SUBTRACT -> stack[size - 1] = value2 - value1;
+                        case OpCode.MULTIPLY -> stack[size - 1] = value2 * value1;
+                        case OpCode.DIVIDE -> {
+                            if (value1 == 0) {
+                                throw new DivideByZeroException();
+                            }
+                            stack[size - 1] = value2 / value1;
+                        }
+                        default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+                    }
+                }
+            }
+            results[row] = stack[size - 1];
+        }
+    }
+
+    /**
+     * Vérifie que chaque opération dispose de ses opérandes sur une pile initialement vide,
+     * et que le programme laisse au moins une valeur sur la pile. Cette vérification a été
+     * effectuée à la construction du programme : l'appel ne fait que rapporter son résultat.
+     *
+     * @throws NotEnoughOperandsOnStackException Si une opération manque d'opérandes ; la position de son
+     *                                           token est donnée par {@link NotEnoughOperandsOnStackException#getPosition()}.
+     */
+    public void verify() throws NotEnoughOperandsOnStackException {
+        if (underflowIndex >= 0) {
+            throw new NotEnoughOperandsOnStackException(getSourcePosition(underflowIndex));
+        }
+    }
+
+    /**
+     * Retourne le résultat de la vérification sans lever d'exception.
+     *
+     * @return L'indice de la première instruction qui manque d'opérandes, le nombre d'instructions
+     *         si le programme ne laisse aucune valeur sur la pile, ou -1 si le programme est valide.
+     */
+    public int getUnderflowIndex() {
+        return underflowIndex;
+    }
+
+    /**
+     * Retourne la profondeur maximale atteinte par la pile pendant l'exécution sur une pile vide,
+     * soit la taille du tampon nécessaire à un évaluateur. Elle n'a de sens que si {@link #verify()} réussit.
+     *
+     * @return La profondeur maximale de la pile.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Retourne la position, dans l'expression source, du token d'une instruction.
+     *
+     * @param index L'indice de l'instruction.
+     * @return L'indice du premier caractère du token, ou -1 si elle est inconnue.
+     */
+    public int getSourcePosition(int index) {
+        return index < sourcePositions.length ? sourcePositions[index] : -1;
+    }
+
+    /**
+     * Retourne le nombre d'instructions du programme.
+     *
+     * @return Le nombre d'instructions.
+     */
+    public int getInstructionCount() {
+        return opCodes.length;
+    }
+
+    /**
+     * Retourne le code d'opération d'une instruction.
+     *
+     * @param index L'indice de l'instruction.
+     * @return Le code d'opération.
+     */
+    public byte getOpCode(int index) {
+        return opCodes[index];
+    }
+
+    /**
+     * Retourne l'opérande d'une instruction.
+     *
+     * @param index L'indice de l'instruction.
+     * @return L'opérande, ou 0 pour les opérations arithmétiques.
+     */
+    public int getOperand(int index) {
+        return operands[index];
+    }
+
+    /**
+     * Retourne le nombre de variables du programme.
+     *
+     * @return Le nombre de variables.
+     */
+    public int getVariableCount() {
+        return variableNames.length;
+    }
+
+    /**
+     * Retourne les noms des variables, dans l'ordre de leurs indices.
+     *
+     * @return Une copie des noms de variables.
+     */
+    public String[] getVariableNames() {
+        return variableNames.clone();
+    }
+
+    /**
+     * Retourne une copie du pool de constantes.
+     *
+     * @return Les constantes du programme.
+     */
+    public double[] getConstants() {
+        return constants.clone();
+    }
+
+    /**
+     * Retourne le pool de constantes sans le copier, pour les évaluateurs de ce paquetage.
+     * Le tableau retourné ne doit pas être modifié.
+     *
+     * @return Les constantes du programme.
+     */
+    double[] getConstantPool() {
+        return constants;
+    }
+
+    /**
+     * Retourne une représentation lisible du programme, une instruction par ligne.
+     *
+     * @return Le désassemblage du programme.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < opCodes.length; i++) {
+            sb.append(i).append(": ").append(OpCode.symbol(opCodes[i]));
+            if (opCodes[i] == OpCode.PUSH_CONST) {
+                sb.append(' ').append(constants[operands[i]]);
+            } else if (opCodes[i] == OpCode.PUSH_VAR) {
+                sb.append(' ').append(variableNames[operands[i]]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Compare deux programmes instruction par instruction. Les positions dans l'expression
+     * source ne sont qu'une information de diagnostic et ne sont pas comparées.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RPNProgram other)) {
+            return false;
+        }
+        return Arrays.equals(opCodes, other.opCodes)
+                && Arrays.equals(operands, other.operands)
+                && Arrays.equals(constants, other.constants)
+                && Arrays.equals(variableNames, other.variableNames);
+    }
+
+    /**
+     * Calcule un code de hachage cohérent avec equals.
+     */
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(opCodes);
+        result = 31 * result + Arrays.hashCode(operands);
+        result = 31 * result + Arrays.hashCode(constants);
+        return 31 * result + Arrays.hashCode(variableNames);
+    }
+
+    /**
+     * Vérifie qu'un lot fournit une colonne par variable, chacune d'au moins {@code rows} valeurs.
+     *
+     * @throws IllegalArgumentException Si le nombre ou la taille des colonnes ne convient pas.
+     */
+    void checkColumns(double[][] columns, int rows) {
+        checkVariableCount(columns.length);
+        for (double[] column : columns) {
+            if (column.length < rows) {
+                throw new IllegalArgumentException("Column has " + column.length + " rows, expected " + rows);
+            }
+        }
+    }
+
+    /**
+     * Vérifie que le nombre de valeurs fournies correspond au nombre de variables.
+     */
+    private void checkVariableCount(int count) {
+        if (count != variableNames.length) {
+            throw new IllegalArgumentException("Expected " + variableNames.length + " variable values, got " + count);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construit un RPNProgram instruction par instruction.
+ * Les constantes identiques (au bit près) partagent la même entrée du pool, et chaque
+ * variable reçoit un indice fixe dans l'ordre de sa première apparition.
+ * Un constructeur ne doit servir qu'à produire un seul programme.
+ */
+public final class RPNProgramBuilder {
+
+    private byte[] opCodes = new byte[16];
+    private int[] operands = new int[16];
+    private int[] positions = new int[16];
+    private int position = -1;
+    private double[] constants = new double[8];
+    private final Map<Long, Integer> constantIndexes = new HashMap<>();
+    private final Map<String, Integer> variableIndexes = new HashMap<>();
+    private final List<String> variableNames = new ArrayList<>();
+    private int instructionCount;
+    private int constantCount;
+
+    /**
+     * Construit un constructeur de programme sans variable prédéclarée.
+     */
+    public RPNProgramBuilder() {
+    }
+
+    /**
+     * Construit un constructeur de programme dont les variables sont prédéclarées avec les
+     * indices donnés, même si certaines ne sont finalement plus référencées.
+     * Cela permet de reconstruire un programme sans changer l'ordre de ses variables.
+     *
+     * @param variableNames Les noms des variables, dans l'ordre de leurs indices.
+     */
+    public RPNProgramBuilder(String[] variableNames) {
+        for (String name : variableNames) {
+            variableIndex(name);
+        }
+    }
+
+    /**
+     * Ajoute une instruction empilant une constante.
+     *
+     * @param value La valeur à empiler.
+     * @return Ce constructeur.
+     */
+    public RPNProgramBuilder pushConstant(double value) {
+        Integer index = constantIndexes.putIfAbsent(Double.doubleToRawLongBits(value), constantCount);
+        if (index == null) {
+            index = constantCount;
+            if (constantCount == constants.length) {
+                constants = Arrays.copyOf(constants, constantCount << 1);
+            }
+            constants[constantCount++] = value;
+        }
+        return append(OpCode.PUSH_CONST, index);
+    }
+
+    /**
+     * Ajoute une instruction empilant la valeur d'une variable.
+     *
+     * @param name Le nom de la variable.
+     * @return Ce constructeur.
+     */
+    public RPNProgramBuilder pushVariable(String name) {
+        return append(OpCode.PUSH_VAR, variableIndex(name));
+    }
+
+    /**
+     * Ajoute une opération arithmétique.
+     *
+     * @param opCode Le code de l'opération (voir OpCode).
+     * @return Ce constructeur.
+     */
+    public RPNProgramBuilder operation(byte opCode) {
+        return append(opCode, 0);
+    }
+
+    /**
+     * Indique la position, dans l'expression source, du token correspondant à la prochaine instruction.
+     * Elle est reportée par {@link RPNProgram#verify()} lorsque cette instruction manque d'opérandes.
+     *
+     * @param position L'indice du premier caractère du token, ou -1 si elle est inconnue.
+     * @return Ce constructeur.
+     */
+    public RPNProgramBuilder sourcePosition(int position) {
+        this.position = position;
+        return this;
+    }
+
+    /**
+     * Produit le programme construit.
+     *
+     * @return Un RPNProgram immuable.
+     */
+    public RPNProgram build() {
+        return new RPNProgram(
+                Arrays.copyOf(opCodes, instructionCount),
+                Arrays.copyOf(operands, instructionCount),
+                Arrays.copyOf(constants, constantCount),
+                variableNames.toArray(new String[0]),
+                Arrays.copyOf(positions, instructionCount));
+    }
+
+    /**
+     * Retourne l'indice d'une variable, en l'enregistrant si elle est nouvelle.
+     */
+    private int variableIndex(String name) {
+        Integer index = variableIndexes.putIfAbsent(name, variableNames.size());
+        if (index == null) {
+            index = variableNames.size();
+            variableNames.add(name);
+        }
+        return index;
+    }
+
+    private RPNProgramBuilder append(byte opCode, int operand) {
+        if (instructionCount == opCodes.length) {
+            opCodes = Arrays.copyOf(opCodes, instructionCount << 1);
+            operands = Arrays.copyOf(operands, instructionCount << 1);
+            positions = Arrays.copyOf(positions, instructionCount << 1);
+        }
+        opCodes[instructionCount] = opCode;
+        operands[instructionCount] = operand;
+        positions[instructionCount] = position;
+        instructionCount++;
+        position = -1;
+        return this;
+    }
+}
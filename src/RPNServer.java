@@ -0,0 +1,308 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Un service d'évaluation d'expressions RPN sur le réseau local, qui évite de démarrer une JVM par requête.
+ * Deux interfaces sont proposées :
+ * <ul>
+ *     <li>un protocole TCP en lignes : chaque ligne reçue est une expression, et chaque réponse est
+ *     une ligne contenant le résultat ou {@code ERROR <message>}, dans l'ordre des requêtes.
+ *     Un client peut envoyer plusieurs requêtes sans attendre les réponses : celles-ci sont écrites
+ *     par paquets, le flux n'étant vidé que lorsqu'aucune requête n'attend plus en lecture.
+ *     La ligne {@code .exit}, sans tenir compte de la casse comme dans Main, ferme la connexion ;</li>
+ *     <li>un point d'accès HTTP : {@code POST /eval} évalue chaque ligne du corps et répond une ligne
+ *     par expression, et {@code GET /stats} retourne les statistiques du serveur.</li>
+ * </ul>
+ * Chaque connexion est servie par un thread virtuel et dispose de sa propre Stack et de son propre
+ * RPNEvaluator (sémantique de CalcImpl, sans exception sur les lignes invalides) : aucun état mutable
+ * n'est partagé entre connexions. Chaque expression est évaluée sur une pile vidée au préalable.
+ * Un serveur s'obtient par {@link #start(int, int, Supplier)}, qui ne lance ses threads qu'une fois
+ * l'objet entièrement construit.
+ */
+public final class RPNServer implements AutoCloseable {
+
+    private static final String EXIT_COMMAND = ".exit";
+
+    private final Supplier<? extends Stack> stackFactory;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final ServerSocket serverSocket;
+    private final HttpServer httpServer;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder connectionCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private volatile boolean closed;
+
+    /**
+     * Un instantané des statistiques du serveur.
+     *
+     * @param requests Le nombre d'expressions évaluées, toutes interfaces confondues.
+     * @param errors Le nombre d'expressions ayant produit une erreur.
+     * @param connections Le nombre de connexions TCP et d'échanges HTTP acceptés.
+     * @param requestsPerSecond Le débit moyen depuis le démarrage du serveur.
+     * @param meanLatencyMicros La durée moyenne d'évaluation d'une expression, en microsecondes.
+     * @param maxLatencyMicros La durée d'évaluation la plus longue, en microsecondes.
+     */
+    public record Stats(long requests, long errors, long connections, double requestsPerSecond,
+                        double meanLatencyMicros, double maxLatencyMicros) {
+
+        /**
+         * Retourne les statistiques sous forme de lignes {@code nom valeur}.
+         *
+         * @return Le texte des statistiques.
+         */
+        public String format() {
+            return "requests " + requests + "\n"
+                    + "errors " + errors + "\n"
+                    + "connections " + connections + "\n"
+                    + "requests_per_second " + requestsPerSecond + "\n"
+                    + "mean_latency_us " + meanLatencyMicros + "\n"
+                    + "max_latency_us " + maxLatencyMicros + "\n";
+        }
+    }
+
+    /**
+     * Démarre un serveur écoutant sur l'interface de bouclage locale.
+     *
+     * @param tcpPort Le port du protocole en lignes, ou 0 pour un port libre quelconque.
+     * @param httpPort Le port HTTP, ou 0 pour un port libre quelconque.
+     * @param stackFactory Fournit la pile de chaque connexion.
+     * @return Le serveur démarré.
+     * @throws IOException Si l'un des ports ne peut pas être ouvert.
+     */
+    public static RPNServer start(int tcpPort, int httpPort, Supplier<? extends Stack> stackFactory) throws IOException {
+        RPNServer server = new RPNServer(tcpPort, httpPort, stackFactory);
+        server.httpServer.start();
+        Thread.ofVirtual().name("rpn-server-acceptor").start(server::acceptConnections);
+        return server;
+    }
+
+    /**
+     * Ouvre les ports du serveur, sans encore accepter de connexion.
+     */
+    private RPNServer(int tcpPort, int httpPort, Supplier<? extends Stack> stackFactory) throws IOException {
+        this.stackFactory = stackFactory;
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        this.serverSocket = new ServerSocket(tcpPort, 0, loopback);
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(loopback, httpPort), 0);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        httpServer.createContext("/eval", this::handleEval);
+        httpServer.createContext("/stats", this::handleStats);
+        httpServer.setExecutor(executor);
+    }
+
+    /**
+     * Retourne le port effectif du protocole en lignes.
+     *
+     * @return Le port TCP.
+     */
+    public int getTcpPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retourne le port effectif du point d'accès HTTP.
+     *
+     * @return Le port HTTP.
+     */
+    public int getHttpPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Retourne un instantané des statistiques du serveur.
+     *
+     * @return Les statistiques courantes.
+     */
+    public Stats getStats() {
+        long requests = requestCount.sum();
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        return new Stats(requests, errorCount.sum(), connectionCount.sum(),
+                elapsedSeconds > 0 ? requests / elapsedSeconds : 0,
+                requests > 0 ? totalLatencyNanos.sum() / 1e3 / requests : 0,
+                maxLatencyNanos.get() / 1e3);
+    }
+
+    /**
+     * Arrête le serveur : plus aucune connexion n'est acceptée et les connexions ouvertes sont fermées.
+     *
+     * @throws IOException Si la socket d'écoute ne peut pas être fermée.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        httpServer.stop(0);
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Accepte les connexions TCP jusqu'à la fermeture de la socket d'écoute.
+     * Une connexion acceptée pendant close() est fermée ici si close() a déjà parcouru les connexions
+     * ouvertes : {@code closed} est lu après l'ajout à {@code connections}, et écrit par close()
+     * avant leur parcours.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connections.add(connection);
+                connectionCount.increment();
+                try {
+                    if (closed) {
+                        throw new RejectedExecutionException("Server is closed");
+                    }
+                    executor.execute(() -> serve(connection));
+                } catch (RejectedExecutionException e) {
+                    connections.remove(connection);
+                    connection.close();
+                }
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Cannot accept connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sert une connexion TCP : une réponse par ligne, vidée lorsque le client attend.
+     */
+    private void serve(Socket connection) {
+        RPNEvaluator evaluator = new RPNEvaluator(stackFactory.get());
+        EvaluationResult result = new EvaluationResult();
+        try (connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+             ResultWriter out = new ResultWriter(connection.getOutputStream())) {
+            String line;
+            while ((line = in.readLine()) != null && !line.trim().equalsIgnoreCase(EXIT_COMMAND)) {
+                evaluate(evaluator, line, result, out);
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (SocketException e) {
+            // La connexion a été fermée par le client ou par close().
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Répond à {@code POST /eval} : une ligne de réponse par ligne du corps.
+     */
+    private void handleEval(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!accept(exchange, "/eval", "POST")) {
+                return;
+            }
+            connectionCount.increment();
+            RPNEvaluator evaluator = new RPNEvaluator(stackFactory.get());
+            EvaluationResult result = new EvaluationResult();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            ResultWriter response = new ResultWriter(body);
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    evaluate(evaluator, line, result, response);
+                }
+            }
+            response.flush();
+            sendBody(exchange, body.toByteArray());
+        }
+    }
+
+    /**
+     * Répond à {@code GET /stats} avec les statistiques du serveur.
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (accept(exchange, "/stats", "GET")) {
+                sendText(exchange, getStats().format());
+            }
+        }
+    }
+
+    /**
+     * Vérifie qu'une requête vise exactement le chemin d'un point d'accès, HttpServer associant un contexte
+     * à tous les chemins qui commencent par le sien, et qu'elle utilise la méthode attendue.
+     * Sinon, répond 404 ou 405.
+     *
+     * @return {@code true} si la requête peut être servie.
+     */
+    private static boolean accept(HttpExchange exchange, String path, String method) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals(path)) {
+            exchange.sendResponseHeaders(404, -1);
+            return false;
+        }
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            exchange.sendResponseHeaders(405, -1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Évalue une expression, écrit sa ligne de réponse et met à jour les statistiques.
+     */
+    private void evaluate(RPNEvaluator evaluator, String expression, EvaluationResult result, ResultWriter out) throws IOException {
+        long start = System.nanoTime();
+        int status = evaluator.evaluate(expression, result);
+        long latency = System.nanoTime() - start;
+        requestCount.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+        if (status == EvaluationResult.OK) {
+            out.writeDouble(result.getValue());
+        } else {
+            errorCount.increment();
+            out.write("ERROR ").write(result.getMessage(expression));
+        }
+        out.newLine();
+    }
+
+    private static void sendText(HttpExchange exchange, String text) throws IOException {
+        sendBody(exchange, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendBody(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
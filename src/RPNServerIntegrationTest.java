@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNServer.
+ * Ces tests démarrent un serveur sur des ports libres de l'interface locale et l'interrogent
+ * par le protocole en lignes et par HTTP.
+ */
+public class RPNServerIntegrationTest {
+
+    private RPNServer server;
+
+    /**
+     * Démarre un serveur avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = RPNServer.start(0, 0, DoubleArrayStackImpl::new);
+    }
+
+    /**
+     * Arrête le serveur après chaque test.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Teste des requêtes envoyées en une seule écriture, sans attendre les réponses.
+     */
+    @Test
+    public void testPipelinedRequests() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("1 2 +\n5 0 /\n3 4 *\n+\n\n2 a *\n.EXIT\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("3.0", in.readLine());
+            assertEquals("ERROR Cannot divide by zero.", in.readLine());
+            assertEquals("12.0", in.readLine());
+            assertEquals("ERROR Not enough operands on stack for the operation.", in.readLine());
+            assertEquals("ERROR Empty expression", in.readLine());
+            assertEquals("ERROR Invalid token: a", in.readLine());
+            assertNull(in.readLine());
+        }
+        RPNServer.Stats stats = server.getStats();
+        assertEquals(6, stats.requests());
+        assertEquals(4, stats.errors());
+        assertEquals(1, stats.connections());
+    }
+
+    /**
+     * Teste que des connexions simultanées ne partagent pas leur pile.
+     */
+    @Test
+    public void testConcurrentConnections() throws Exception {
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int c = 0; c < 32; c++) {
+            int client = c;
+            futures.add(clients.submit(() -> {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+                    OutputStream out = socket.getOutputStream();
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    for (int i = 0; i < 100; i++) {
+                        out.write((client + " " + i + " +\n").getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        if (!Double.toString(client + i).equals(in.readLine())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        clients.shutdown();
+        assertEquals(3200, server.getStats().requests());
+    }
+
+    /**
+     * Teste le point d'accès HTTP d'évaluation et celui des statistiques, ainsi que le refus des autres
+     * chemins et méthodes.
+     */
+    @Test
+    public void testHttpEndpoints() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI base = URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getHttpPort());
+        HttpResponse<String> eval = client.send(HttpRequest.newBuilder(base.resolve("/eval"))
+                .POST(HttpRequest.BodyPublishers.ofString("2 3 *\n1 0 /\n")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, eval.statusCode());
+        assertEquals("6.0\nERROR Cannot divide by zero.\n", eval.body());
+
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(base.resolve("/eval")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+
+        HttpResponse<String> stats = client.send(HttpRequest.newBuilder(base.resolve("/stats")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, stats.statusCode());
+        assertTrue(stats.body().startsWith("requests 2\nerrors 1\n"), stats.body());
+
+        HttpResponse<String> postStats = client.send(HttpRequest.newBuilder(base.resolve("/stats"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, postStats.statusCode());
+        assertEquals("GET", postStats.headers().firstValue("Allow").orElse(null));
+        for (String path : new String[]{"/evalx", "/eval/", "/stats/anything"}) {
+            HttpResponse<String> other = client.send(HttpRequest.newBuilder(base.resolve(path))
+                    .POST(HttpRequest.BodyPublishers.ofString("1 2 +\n")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(404, other.statusCode(), path);
+        }
+        assertEquals(2, server.getStats().requests());
+    }
+
+    /**
+     * Teste que la fermeture du serveur ferme aussi les connexions ouvertes.
+     */
+    @Test
+    public void testCloseDisconnectsClients() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            socket.getOutputStream().write("1 1 +\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("2.0", in.readLine());
+            server.close();
+            assertNull(in.readLine());
+        }
+    }
+}
@@ -0,0 +1,249 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.text.ParseException;
+
+/**
+ * Une session d'évaluation incrémentale : l'expression arrive par morceaux de caractères
+ * quelconques, par exemple au fil des lectures d'une socket, et chaque token est transmis
+ * à Calc dès qu'il est complet. Un token peut être coupé entre deux morceaux ; seuls ses
+ * caractères déjà reçus sont conservés, dans un tampon de taille fixe. La mémoire de la
+ * session reste ainsi bornée quelle que soit la longueur de l'expression : seule la pile
+ * de Calc grandit, avec le nombre d'opérandes en attente.
+ * Les tokens sont reconnus par RPNTokenizer, avec les mêmes règles que RPNParserImpl.
+ * Comme pour RPNParserImpl, la pile de Calc n'est pas vidée entre deux expressions.
+ * Une instance n'est pas thread-safe.
+ */
+public class RPNStreamingSession {
+
+    private static final int DEFAULT_MAX_TOKEN_LENGTH = 1024;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Calc calc;
+    private final TokenBuffer token;
+    private final RPNTokenizer tokenizer = new RPNTokenizer();
+    private long position;
+    private long tokenStart;
+    private long tokenCount;
+
+    /**
+     * Construit une session acceptant des tokens d'au plus 1024 caractères.
+     *
+     * @param calc La calculatrice qui reçoit les tokens.
+     */
+    public RPNStreamingSession(Calc calc) {
+        this(calc, DEFAULT_MAX_TOKEN_LENGTH);
+    }
+
+    /**
+     * Construit une session.
+     *
+     * @param calc La calculatrice qui reçoit les tokens.
+     * @param maxTokenLength La longueur maximale d'un token, qui fixe la taille du tampon.
+     * @throws IllegalArgumentException Si la longueur maximale est négative ou nulle.
+     */
+    public RPNStreamingSession(Calc calc, int maxTokenLength) {
+        if (maxTokenLength <= 0) {
+            throw new IllegalArgumentException("Maximum token length must be positive: " + maxTokenLength);
+        }
+        this.calc = calc;
+        this.token = new TokenBuffer(maxTokenLength);
+    }
+
+    /**
+     * Transmet un morceau de l'expression. Les tokens qu'il complète sont évalués immédiatement ;
+     * un token non terminé par un séparateur attend le morceau suivant ou {@link #finish()}.
+     * Si une exception est levée, la suite du morceau est ignorée et la session est remise
+     * au début d'une nouvelle expression.
+     *
+     * @param chunk Le morceau de l'expression.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si un token est invalide ou dépasse la longueur maximale ; la position
+     *                        d'erreur est celle du token depuis le début de l'expression.
+     */
+    public void feed(CharSequence chunk) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        for (int i = 0; i < chunk.length(); i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    /**
+     * Transmet un morceau de l'expression lu dans un tableau. Voir {@link #feed(CharSequence)}.
+     *
+     * @param chars Le tableau contenant le morceau.
+     * @param offset L'indice du premier caractère du morceau.
+     * @param length Le nombre de caractères du morceau.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si un token est invalide ou dépasse la longueur maximale.
+     */
+    public void feed(char[] chars, int offset, int length) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        for (int i = offset; i < offset + length; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Termine l'expression : évalue le dernier token s'il est en attente, retourne la valeur
+     * au sommet de la pile, puis remet la session au début d'une nouvelle expression.
+     *
+     * @return Le résultat de l'expression.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si l'expression est vide ou si son dernier token est invalide.
+     */
+    public double finish() throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        try {
+            if (token.length > 0) {
+                evaluateToken();
+            }
+            if (tokenCount == 0) {
+                throw new ParseException("Empty expression", 0);
+            }
+            return calc.displayValueOnTop();
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Lit une expression entière depuis un flux, par blocs, puis la termine.
+     * Le flux n'est pas fermé.
+     *
+     * @param in Le flux contenant l'expression.
+     * @return Le résultat de l'expression.
+     * @throws IOException Si la lecture échoue.
+     * @throws NotEnoughOperandsOnStackException Si il n'y a pas assez d'opérandes pour une opération.
+     * @throws DivideByZeroException Si une division par zéro est tentée.
+     * @throws ParseException Si l'expression est vide ou contient un token invalide.
+     */
+    public double evaluate(Reader in) throws IOException, NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            feed(buffer, 0, read);
+        }
+        return finish();
+    }
+
+    /**
+     * Retourne la valeur actuellement au sommet de la pile, sans attendre la fin de l'expression.
+     * Un token en attente de son séparateur n'est pas encore pris en compte.
+     *
+     * @return La valeur au sommet de la pile.
+     * @throws NotEnoughOperandsOnStackException Si la pile est vide.
+     */
+    public double displayValueOnTop() throws NotEnoughOperandsOnStackException {
+        return calc.displayValueOnTop();
+    }
+
+    /**
+     * Abandonne l'expression en cours : le token en attente est oublié et les positions repartent de zéro.
+     * Les valeurs déjà transmises à Calc restent sur sa pile.
+     */
+    public void reset() {
+        token.length = 0;
+        position = 0;
+        tokenStart = 0;
+        tokenCount = 0;
+    }
+
+    /**
+     * Retourne le nombre de caractères reçus depuis le début de l'expression.
+     *
+     * @return La position du prochain caractère.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Retourne le nombre de tokens déjà évalués dans l'expression en cours.
+     *
+     * @return Le nombre de tokens transmis à Calc.
+     */
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Traite un caractère : un séparateur termine le token en attente, les autres caractères s'y ajoutent.
+     */
+    private void accept(char c) throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        try {
+            if (RPNTokenizer.isWhitespace(c)) {
+                if (token.length > 0) {
+                    evaluateToken();
+                }
+            } else {
+                if (token.length == 0) {
+                    tokenStart = position;
+                } else if (token.length == token.chars.length) {
+                    throw new ParseException("Token too long: more than " + token.chars.length + " characters", errorOffset());
+                }
+                token.chars[token.length++] = c;
+            }
+            position++;
+        } catch (NotEnoughOperandsOnStackException | DivideByZeroException | ParseException e) {
+            reset();
+            throw e;
+        }
+    }
+
+    /**
+     * Évalue le token complet contenu dans le tampon, puis vide celui-ci.
+     */
+    private void evaluateToken() throws NotEnoughOperandsOnStackException, DivideByZeroException, ParseException {
+        tokenizer.reset(token);
+        int type = tokenizer.next();
+        if (type == RPNTokenizer.NUMBER) {
+            calc.enterValue(tokenizer.number());
+        } else if (type == RPNTokenizer.OPERATOR) {
+            switch (tokenizer.opCode()) {
+                case OpCode.ADD -> calc.add();
+                case OpCode.SUBTRACT -> calc.subtract();
+                case OpCode.MULTIPLY -> calc.multiply();
+                case OpCode.DIVIDE -> calc.divide();
+            }
+        } else {
+            throw new ParseException("Invalid token: " + token, errorOffset());
+        }
+        token.length = 0;
+        tokenCount++;
+    }
+
+    private int errorOffset() {
+        return (int) Math.min(tokenStart, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Le tampon du token en cours, vu comme une CharSequence par RPNTokenizer sans copie.
+     */
+    private static final class TokenBuffer implements CharSequence {
+        final char[] chars;
+        int length;
+
+        TokenBuffer(int capacity) {
+            this.chars = new char[capacity];
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour RPNStreamingSession.
+ * Ces tests vérifient que le découpage de l'expression en morceaux n'a aucune influence
+ * sur le résultat, et que la mémoire de la session reste bornée.
+ */
+public class RPNStreamingSessionIntegrationTest {
+
+    private Stack stack;
+    private RPNStreamingSession session;
+
+    /**
+     * Configure l'environnement de test avant chaque test.
+     */
+    @BeforeEach
+    public void setUp() {
+        stack = new DoubleArrayStackImpl();
+        session = new RPNStreamingSession(new CalcImpl(stack), 32);
+    }
+
+    /**
+     * Teste toutes les découpes possibles d'une expression en deux morceaux.
+     */
+    @Test
+    public void testEverySplitPoint() throws Exception {
+        String expression = "3 5 2 * + 10.25 -20 - /";
+        double expected = new RPNParserImpl(new CalcImpl(new StackImpl())).parseAndDisplayResult(expression);
+        for (int split = 0; split <= expression.length(); split++) {
+            stack.clear();
+            session.feed(expression.substring(0, split));
+            session.feed(expression.substring(split));
+            assertEquals(expected, session.finish(), "split at " + split);
+        }
+    }
+
+    /**
+     * Teste que les tokens sont évalués dès qu'ils sont complets et que le sommet est consultable à tout moment.
+     */
+    @Test
+    public void testIncrementalTop() throws Exception {
+        session.feed("12");
+        assertThrows(NotEnoughOperandsOnStackException.class, session::displayValueOnTop);
+        session.feed("5 ");
+        assertEquals(125, session.displayValueOnTop());
+        session.feed("4 *\t");
+        assertEquals(500, session.displayValueOnTop());
+        assertEquals(3, session.getTokenCount());
+        assertEquals(8, session.getPosition());
+        assertEquals(500, session.finish());
+        assertEquals(0, session.getPosition());
+    }
+
+    /**
+     * Teste une très longue expression, lue par blocs, avec un tampon de tokens de 32 caractères.
+     */
+    @Test
+    public void testLongExpressionFromReader() throws Exception {
+        int count = 200_000;
+        Reader in = new Reader() {
+            private int emitted;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (emitted == 2 * count - 1) {
+                    return -1;
+                }
+                String token = emitted == 0 ? "1 " : emitted % 2 == 1 ? "1 " : "+ ";
+                token.getChars(0, token.length(), buffer, offset);
+                emitted++;
+                return token.length();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertEquals(count, session.evaluate(in));
+        assertEquals(1, stack.getSize());
+    }
+
+    /**
+     * Teste les erreurs : position du token fautif depuis le début de l'expression,
+     * puis reprise de la session sur une nouvelle expression.
+     */
+    @Test
+    public void testErrors() throws Exception {
+        session.feed("1 2 ");
+        ParseException e = assertThrows(ParseException.class, () -> session.feed("+ a "));
+        assertEquals(6, e.getErrorOffset());
+        assertEquals(0, session.getPosition());
+
+        stack.clear();
+        session.feed("1 0");
+        assertThrows(DivideByZeroException.class, () -> session.feed(" / "));
+
+        stack.clear();
+        assertThrows(NotEnoughOperandsOnStackException.class, () -> session.evaluate(new StringReader("1 +")));
+
+        stack.clear();
+        assertThrows(ParseException.class, session::finish);
+        assertEquals(7, session.evaluate(new StringReader(" 3 4 + ")));
+    }
+
+    /**
+     * Teste le refus d'un token plus long que le tampon.
+     */
+    @Test
+    public void testTokenTooLong() throws Exception {
+        session.feed("1 ");
+        session.feed("1".repeat(32));
+        ParseException e = assertThrows(ParseException.class, () -> session.feed("1"));
+        assertEquals(2, e.getErrorOffset());
+    }
+
+    /**
+     * Teste la transmission d'un morceau depuis un tableau de caractères.
+     */
+    @Test
+    public void testFeedCharArray() throws Exception {
+        char[] chars = "xx6 7 *xx".toCharArray();
+        session.feed(chars, 2, 5);
+        assertEquals(42, session.finish());
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Un analyseur lexical en une seule passe pour les expressions RPN.
+ * Il parcourt directement la CharSequence fournie, sans expression régulière ni découpage :
+ * les opérateurs sont reconnus en place et les littéraux numériques sont convertis
+ * par FastDoubleParser, sans créer de sous-chaîne. Les littéraux acceptés sont ceux
+ * de {@link Double#parseDouble(String)}.
+ * Une instance est réutilisable via {@link #reset(CharSequence)} mais n'est pas thread-safe.
+ */
+public final class RPNTokenizer {
+
+    /** Fin de l'entrée : plus aucun token. */
+    public static final int END = 0;
+    /** Un littéral numérique, dont la valeur est donnée par {@link #number()}. */
+    public static final int NUMBER = 1;
+    /** Un opérateur, dont le code est donné par {@link #opCode()}. */
+    public static final int OPERATOR = 2;
+    /** Un token qui n'est ni un nombre, ni un opérateur, ni un identifiant. */
+    public static final int INVALID = 3;
+    /** Un nom de variable : une lettre ou '_' suivie de lettres, chiffres ou '_'. */
+    public static final int IDENTIFIER = 4;
+
+    private CharSequence input;
+    private int length;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+    private double number;
+    private byte opCode;
+
+    /**
+     * Construit un analyseur sans entrée ; {@link #reset(CharSequence)} doit être appelée avant usage.
+     */
+    public RPNTokenizer() {
+        reset("");
+    }
+
+    /**
+     * Construit un analyseur positionné au début de l'entrée donnée.
+     *
+     * @param input La séquence de caractères à analyser.
+     */
+    public RPNTokenizer(CharSequence input) {
+        reset(input);
+    }
+
+    /**
+     * Repositionne l'analyseur au début d'une nouvelle entrée.
+     *
+     * @param input La séquence de caractères à analyser.
+     */
+    public void reset(CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+        this.position = 0;
+        this.tokenStart = 0;
+        this.tokenEnd = 0;
+    }
+
+    /**
+     * Avance jusqu'au token suivant.
+     *
+     * @return Le type du token lu : END, NUMBER, OPERATOR, IDENTIFIER ou INVALID.
+     */
+    public int next() {
+        int i = position;
+        while (i < length && isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            position = tokenStart = tokenEnd = length;
+            return END;
+        }
+        int start = i;
+        while (i < length && !isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        position = i;
+        tokenStart = start;
+        tokenEnd = i;
+
+        if (i - start == 1) {
+            switch (input.charAt(start)) {
+                case '+' -> opCode = OpCode.ADD;
+                case '-' -> opCode = OpCode.SUBTRACT;
+                case '*' -> opCode = OpCode.MULTIPLY;
+                case '/' -> opCode = OpCode.DIVIDE;
+                default -> opCode = -1;
+            }
+            if (opCode >= 0) {
+                return OPERATOR;
+            }
+        }
+        if (isIdentifier(start, i)) {
+            return IDENTIFIER;
+        }
+        return scanNumber(start, i) ? NUMBER : INVALID;
+    }
+
+    /**
+     * Retourne la valeur du dernier token NUMBER lu.
+     *
+     * @return La valeur du littéral.
+     */
+    public double number() {
+        return number;
+    }
+
+    /**
+     * Retourne le code d'opération (voir OpCode) du dernier token OPERATOR lu.
+     *
+     * @return Le code d'opération.
+     */
+    public byte opCode() {
+        return opCode;
+    }
+
+    /**
+     * Retourne la position du premier caractère du dernier token lu.
+     *
+     * @return L'indice de début du token dans l'entrée.
+     */
+    public int tokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * Retourne la position suivant le dernier caractère du dernier token lu.
+     *
+     * @return L'indice de fin (exclu) du token dans l'entrée.
+     */
+    public int tokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * Retourne le texte du dernier token lu. Cette méthode alloue une chaîne
+     * et n'est destinée qu'aux messages d'erreur et aux noms de variables.
+     *
+     * @return Le texte du token.
+     */
+    public String tokenText() {
+        return input.subSequence(tokenStart, tokenEnd).toString();
+    }
+
+    /**
+     * Indique si un caractère est un séparateur, avec la même définition que {@code \s}
+     * dans les expressions régulières Java.
+     *
+     * @param c Le caractère à tester.
+     * @return {@code true} si le caractère est un espace blanc.
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * Indique si le token [start, end) est un identifiant. Les littéraux "Infinity" et "NaN",
+     * acceptés par Double.parseDouble, restent des nombres.
+     *
+     * @return {@code true} si le token est un nom de variable.
+     */
+    private boolean isIdentifier(int start, int end) {
+        char c = input.charAt(start);
+        if (!(Character.isLetter(c) || c == '_')) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            c = input.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_')) {
+                return false;
+            }
+        }
+        return !(tokenEquals(start, end, "Infinity") || tokenEquals(start, end, "NaN"));
+    }
+
+    private boolean tokenEquals(int start, int end, String text) {
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) != text.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convertit le token [start, end) en nombre avec FastDoubleParser, qui lit l'entrée en place
+     * et n'a recours à Double.parseDouble que pour les cas difficiles.
+     *
+     * @return {@code true} si le token est un nombre valide.
+     */
+    private boolean scanNumber(int start, int end) {
+        try {
+            number = FastDoubleParser.parseDouble(input, start, end);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests unitaires pour RPNTokenizer.
+ * Ces tests vérifient le découpage en tokens, la reconnaissance des opérateurs
+ * et la conversion des littéraux, qui doit être identique à celle de Double.parseDouble.
+ */
+public class RPNTokenizerUnitTest {
+
+    /**
+     * Teste le découpage d'une expression avec des séparateurs variés.
+     */
+    @Test
+    void testTokens() {
+        RPNTokenizer tokenizer = new RPNTokenizer(" \t3  4.5\n+ ");
+        assertEquals(RPNTokenizer.NUMBER, tokenizer.next());
+        assertEquals(3.0, tokenizer.number());
+        assertEquals(2, tokenizer.tokenStart());
+        assertEquals(RPNTokenizer.NUMBER, tokenizer.next());
+        assertEquals(4.5, tokenizer.number());
+        assertEquals(RPNTokenizer.OPERATOR, tokenizer.next());
+        assertEquals(OpCode.ADD, tokenizer.opCode());
+        assertEquals(RPNTokenizer.END, tokenizer.next());
+        assertEquals(RPNTokenizer.END, tokenizer.next());
+    }
+
+    /**
+     * Teste la reconnaissance des quatre opérateurs.
+     */
+    @Test
+    void testOperators() {
+        RPNTokenizer tokenizer = new RPNTokenizer("+ - * /");
+        byte[] expected = {OpCode.ADD, OpCode.SUBTRACT, OpCode.MULTIPLY, OpCode.DIVIDE};
+        for (byte opCode : expected) {
+            assertEquals(RPNTokenizer.OPERATOR, tokenizer.next());
+            assertEquals(opCode, tokenizer.opCode());
+        }
+    }
+
+    /**
+     * Teste que les littéraux sont convertis exactement comme par Double.parseDouble.
+     */
+    @Test
+    void testNumbersMatchParseDouble() {
+        String[] literals = {"0", "-0", "+7", "5.", ".5", "0.1", "1.0E8", "1.0E-8", "2.5e+3", "-1.3",
+                "123456789012345678", "1234567890123456789012", "9007199254740993", "1e23", "4.9E-324",
+                "1.7976931348623157E308", "0.30000000000000004", "Infinity", "-Infinity", "NaN", "5d", "0x1p3"};
+        RPNTokenizer tokenizer = new RPNTokenizer();
+        for (String literal : literals) {
+            tokenizer.reset(literal);
+            assertEquals(RPNTokenizer.NUMBER, tokenizer.next(), literal);
+            assertEquals(Double.doubleToRawLongBits(Double.parseDouble(literal)),
+                    Double.doubleToRawLongBits(tokenizer.number()), literal);
+        }
+    }
+
+    /**
+     * Teste le rejet des tokens invalides et la position rapportée.
+     */
+    @Test
+    void testInvalidTokens() {
+        String[] invalid = {"5+3", "--5", "5.5.5", "&", ".", "1e", "x-1", "_$"};
+        RPNTokenizer tokenizer = new RPNTokenizer();
+        for (String token : invalid) {
+            tokenizer.reset("1 " + token);
+            tokenizer.next();
+            assertEquals(RPNTokenizer.INVALID, tokenizer.next(), token);
+            assertEquals(2, tokenizer.tokenStart());
+            assertEquals(token, tokenizer.tokenText());
+        }
+    }
+
+    /**
+     * Teste la reconnaissance des noms de variables, sans confusion avec Infinity et NaN.
+     */
+    @Test
+    void testIdentifiers() {
+        RPNTokenizer tokenizer = new RPNTokenizer("x y_2 _tmp e5 Infinity NaN Inf");
+        int[] expected = {RPNTokenizer.IDENTIFIER, RPNTokenizer.IDENTIFIER, RPNTokenizer.IDENTIFIER,
+                RPNTokenizer.IDENTIFIER, RPNTokenizer.NUMBER, RPNTokenizer.NUMBER, RPNTokenizer.IDENTIFIER};
+        for (int type : expected) {
+            assertEquals(type, tokenizer.next(), tokenizer.tokenText());
+        }
+        assertEquals(RPNTokenizer.END, tokenizer.next());
+    }
+}
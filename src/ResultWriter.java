@@ -0,0 +1,220 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écrit des résultats texte, une ligne par résultat, dans un flux d'octets au travers d'un tampon
+ * réutilisé : les valeurs sont formatées directement dans ce tampon, sans chaîne intermédiaire
+ * ni encodeur de caractères.
+ * Par défaut, chaque valeur est écrite par DoubleFormatter, exactement comme par Double.toString.
+ * Avec un nombre de décimales fixé, elle est écrite en notation simple, sans notation scientifique,
+ * arrondie au plus proche (au pair en cas d'égalité) à partir de sa valeur binaire exacte. Le résultat
+ * diffère donc parfois de {@code String.format("%.nf")}, qui arrondit au plus proche en s'éloignant de
+ * zéro à partir de l'écriture décimale la plus courte : 0.125 donne "0.12" avec 2 décimales (contre
+ * "0.13"), 2.5 donne "2" sans décimale (contre "3"), et 0.15, dont la valeur binaire est légèrement
+ * inférieure, donne "0.1" avec 1 décimale (contre "0.2"). Les valeurs entières sont écrites directement,
+ * les autres passent par BigDecimal et sont donc nettement plus coûteuses que l'écriture la plus courte.
+ * Le flux sous-jacent ne reçoit les octets que lorsque le tampon est plein, ou sur flush().
+ * Une instance n'est pas thread-safe.
+ */
+public class ResultWriter implements Flushable, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int SHORTEST = -1;
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final int fractionDigits;
+    private int position;
+
+    /**
+     * Construit un écrivain produisant l'écriture la plus courte de chaque valeur.
+     *
+     * @param out Le flux recevant les résultats.
+     */
+    public ResultWriter(OutputStream out) {
+        this(out, SHORTEST);
+    }
+
+    /**
+     * Construit un écrivain produisant un nombre fixe de décimales.
+     *
+     * @param out Le flux recevant les résultats.
+     * @param fractionDigits Le nombre de chiffres après le point, ou -1 pour l'écriture la plus courte.
+     * @throws IllegalArgumentException Si le nombre de décimales est inférieur à -1.
+     */
+    public ResultWriter(OutputStream out, int fractionDigits) {
+        this(out, fractionDigits, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Construit un écrivain avec une taille de tampon donnée.
+     *
+     * @param out Le flux recevant les résultats.
+     * @param fractionDigits Le nombre de chiffres après le point, ou -1 pour l'écriture la plus courte.
+     * @param bufferSize La taille du tampon, en octets ; au moins {@link DoubleFormatter#MAX_LENGTH}.
+     * @throws IllegalArgumentException Si le nombre de décimales est inférieur à -1 ou si le tampon est trop petit.
+     */
+    ResultWriter(OutputStream out, int fractionDigits, int bufferSize) {
+        if (fractionDigits < SHORTEST) {
+            throw new IllegalArgumentException("Fraction digits must be -1 or positive: " + fractionDigits);
+        }
+        if (bufferSize < DoubleFormatter.MAX_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must be at least " + DoubleFormatter.MAX_LENGTH + ": " + bufferSize);
+        }
+        this.out = out;
+        this.fractionDigits = fractionDigits;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Écrit une valeur, sans fin de ligne.
+     *
+     * @param value La valeur à écrire.
+     * @return Cet écrivain.
+     * @throws IOException Si l'écriture dans le flux échoue.
+     */
+    public ResultWriter writeDouble(double value) throws IOException {
+        if (fractionDigits == SHORTEST) {
+            ensureCapacity(DoubleFormatter.MAX_LENGTH);
+            position = DoubleFormatter.format(value, buffer, position);
+        } else {
+            writeFixed(value);
+        }
+        return this;
+    }
+
+    /**
+     * Écrit un texte en UTF-8, sans fin de ligne.
+     *
+     * @param text Le texte à écrire.
+     * @return Cet écrivain.
+     * @throws IOException Si l'écriture dans le flux échoue.
+     */
+    public ResultWriter write(CharSequence text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                writeBytes(text.subSequence(i, length).toString().getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) c;
+        }
+        return this;
+    }
+
+    /**
+     * Termine la ligne en cours.
+     *
+     * @return Cet écrivain.
+     * @throws IOException Si l'écriture dans le flux échoue.
+     */
+    public ResultWriter newLine() throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = '\n';
+        return this;
+    }
+
+    /**
+     * Écrit le contenu du tampon dans le flux, puis vide le flux.
+     *
+     * @throws IOException Si l'écriture dans le flux échoue.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Écrit le contenu du tampon, puis ferme le flux.
+     *
+     * @throws IOException Si l'écriture ou la fermeture du flux échoue.
+     */
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Écrit la valeur avec fractionDigits décimales. Le signe est conservé pour les valeurs
+     * négatives arrondies à zéro, comme par String.format.
+     */
+    private void writeFixed(double value) throws IOException {
+        if (Double.isNaN(value)) {
+            writeBytes(NAN);
+            return;
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            write("-");
+            value = -value;
+        }
+        if (value == Double.POSITIVE_INFINITY) {
+            writeBytes(INFINITY);
+        } else if (value < 0x1p63 && value == Math.rint(value)) {
+            writeLong((long) value);
+            if (fractionDigits > 0) {
+                write(".");
+                for (int i = 0; i < fractionDigits; i++) {
+                    write("0");
+                }
+            }
+        } else {
+            write(new BigDecimal(value).setScale(fractionDigits, RoundingMode.HALF_EVEN).toPlainString());
+        }
+    }
+
+    /**
+     * Écrit les chiffres d'un entier positif ou nul.
+     */
+    private void writeLong(long value) throws IOException {
+        ensureCapacity(19);
+        int length = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += length;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            out.write(bytes);
+            return;
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
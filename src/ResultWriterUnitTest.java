@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests unitaires pour ResultWriter.
+ * Ces tests vérifient les deux formats de valeurs et le passage par un petit tampon.
+ */
+public class ResultWriterUnitTest {
+
+    /**
+     * Teste l'écriture la plus courte, identique à Double.toString, et l'écriture de texte.
+     */
+    @Test
+    public void testShortest() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultWriter writer = new ResultWriter(out);
+        writer.writeDouble(3).newLine().writeDouble(0.1 + 0.2).newLine().writeDouble(-1e-20).newLine();
+        writer.write("ERROR Invalid token: é").newLine();
+        assertEquals(0, out.size());
+        writer.flush();
+        assertEquals("3.0\n0.30000000000000004\n-1.0E-20\nERROR Invalid token: é\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Teste l'écriture avec un nombre fixe de décimales, arrondie depuis la valeur binaire exacte.
+     */
+    @Test
+    public void testFixedPrecision() throws IOException {
+        assertEquals("3.00 0.12 2.67 -0.00 1000000000000000000000.00 NaN -Infinity 9223372036854774784.00 ",
+                format(2, 3, 0.125, 8.0 / 3, -0.001, 1e21, Double.NaN, Double.NEGATIVE_INFINITY, 0x1p63 - 1024));
+        assertEquals("2 0 -1 0 ", format(0, 2.5, 0.4, -1, 0.0));
+        assertEquals(String.format("%.5f", Math.PI) + " ", format(5, Math.PI));
+        assertThrows(IllegalArgumentException.class, () -> new ResultWriter(new ByteArrayOutputStream(), -2));
+    }
+
+    /**
+     * Teste que les valeurs et les textes plus longs que le tampon sont écrits en entier et dans l'ordre.
+     */
+    @Test
+    public void testSmallBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        try (ResultWriter writer = new ResultWriter(out, -1, DoubleFormatter.MAX_LENGTH)) {
+            for (int i = 0; i < 1000; i++) {
+                double value = i / 7.0;
+                writer.writeDouble(value).write(" ").write("x".repeat(i % 50)).newLine();
+                expected.append(value).append(' ').append("x".repeat(i % 50)).append('\n');
+            }
+        }
+        assertEquals(expected.toString(), out.toString(StandardCharsets.US_ASCII));
+    }
+
+    private static String format(int fractionDigits, double... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ResultWriter writer = new ResultWriter(out, fractionDigits)) {
+            for (double value : values) {
+                writer.writeDouble(value).write(" ");
+            }
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.EmptyStackException;
+import java.util.Objects;
 
 public interface Stack {
     /**
@@ -24,4 +25,46 @@ public interface Stack {
      * @throws EmptyStackException if this stack is empty.
      */
     public double pop() throws EmptyStackException;
-}
\ No newline at end of file
+    /**
+     * Removes all the items from this stack, keeping its storage
+     * so that a reused stack does not reallocate.
+     */
+    public void clear();
+    /**
+     * Pushes length items of values, starting at offset, in order,
+     * as if push were called for each of them.
+     */
+    public default void pushAll(double[] values, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            push(values[i]);
+        }
+    }
+    /**
+     * Removes the count items on top of this stack and stores them in
+     * destination from offset, deepest first, so that pushAll restores them.
+     * @throws EmptyStackException if this stack has fewer than count items,
+     * in which case it is left unchanged.
+     */
+    public default void popN(double[] destination, int offset, int count) throws EmptyStackException {
+        if (getSize() < count) {
+            throw new EmptyStackException();
+        }
+        for (int i = offset + count - 1; i >= offset; i--) {
+            destination[i] = pop();
+        }
+    }
+    /**
+     * Copies count items, starting at index from the bottom of this stack
+     * (0 is the deepest item), into destination from offset, deepest first,
+     * leaving this stack unchanged.
+     * @throws IndexOutOfBoundsException if the range is not inside this stack.
+     */
+    public default void copyTo(int index, double[] destination, int offset, int count) {
+        int size = getSize();
+        Objects.checkFromIndexSize(index, count, size);
+        double[] values = new double[size - index];
+        popN(values, 0, values.length);
+        pushAll(values, 0, values.length);
+        System.arraycopy(values, 0, destination, offset, count);
+    }
+}
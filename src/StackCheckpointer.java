@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enregistre périodiquement, en arrière-plan, un instantané d'une Stack avec StackSnapshot,
+ * afin qu'une longue session puisse reprendre sa pile après un redémarrage.
+ * Les instantanés sont pris par un thread démon, à intervalle fixe entre la fin d'un instantané
+ * et le début du suivant. La pile n'étant pas thread-safe, elle n'est lue que sous le moniteur
+ * d'un objet verrou : le propriétaire de la pile doit la modifier en détenant ce même moniteur
+ * ({@code synchronized (lock) { ... }}). Il n'attend ainsi que pendant la copie de la pile dans
+ * la projection du fichier ; le forçage sur disque et le renommage ont lieu après avoir rendu le verrou.
+ * Une ConcurrentStack est lue depuis un unique sommet et n'a pas besoin de verrou partagé.
+ * Un instantané qui échoue est signalé sur la sortie d'erreur et n'arrête pas les suivants.
+ * La fermeture arrête les instantanés périodiques et en prend un dernier.
+ */
+public final class StackCheckpointer implements AutoCloseable {
+
+    private final Stack stack;
+    private final Object lock;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private final Object writing = new Object();
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private boolean closed;
+
+    /**
+     * Démarre les instantanés périodiques d'une pile lue sous son propre moniteur.
+     *
+     * @param stack La pile à enregistrer.
+     * @param file Le fichier instantané, remplacé à chaque instantané.
+     * @param interval L'intervalle entre deux instantanés.
+     */
+    public StackCheckpointer(Stack stack, Path file, Duration interval) {
+        this(stack, stack, file, interval);
+    }
+
+    /**
+     * Démarre les instantanés périodiques d'une pile.
+     *
+     * @param stack La pile à enregistrer.
+     * @param lock L'objet dont le moniteur protège la pile.
+     * @param file Le fichier instantané, remplacé à chaque instantané.
+     * @param interval L'intervalle entre deux instantanés.
+     * @throws IllegalArgumentException Si l'intervalle est négatif ou nul.
+     */
+    public StackCheckpointer(Stack stack, Object lock, Path file, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.stack = stack;
+        this.lock = lock;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stack-checkpointer").daemon().factory());
+        long nanos = interval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::checkpointInBackground, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Prend immédiatement un instantané de la pile, sur le thread appelant.
+     * Seule la copie de la pile se fait sous le verrou ; deux instantanés ne s'écrivent jamais en même temps.
+     *
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (writing) {
+            StackSnapshot.Copy copy;
+            synchronized (lock) {
+                copy = StackSnapshot.copy(stack, file);
+            }
+            try (copy) {
+                copy.commit();
+            }
+        }
+        checkpointCount.incrementAndGet();
+    }
+
+    /**
+     * Retourne le nombre d'instantanés écrits avec succès.
+     *
+     * @return Le nombre d'instantanés écrits.
+     */
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    /**
+     * Arrête les instantanés périodiques, attend la fin de celui en cours, puis prend un dernier instantané.
+     * Les appels suivants sont sans effet.
+     *
+     * @throws IOException Si le dernier instantané ne peut pas être écrit.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+    }
+
+    private void checkpointInBackground() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Checkpoint failed: " + e.getMessage());
+        }
+    }
+}
@@ -82,4 +82,13 @@ public class StackFakeImpl implements Stack {
         }
         return topValue;
     }
+
+    /**
+     * Simule le vidage de la pile.
+     */
+    @Override
+    public void clear() {
+        isEmpty = true;
+        size = 0;
+    }
 }
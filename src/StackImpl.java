@@ -1,5 +1,7 @@
 import java.util.ArrayList;
 import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Une implémentation concrète de l'interface Stack utilisant une ArrayList.
@@ -39,6 +41,14 @@ public class StackImpl implements Stack {
         stackList.add(item);
     }
 
+    /**
+     * Vide la pile. La capacité de la liste sous-jacente est conservée.
+     */
+    @Override
+    public void clear() {
+        stackList.clear();
+    }
+
     /**
      * Retourne l'élément au sommet de la pile sans le retirer.
      *
@@ -66,4 +76,57 @@ public class StackImpl implements Stack {
         }
         return stackList.remove(stackList.size() - 1);
     }
+
+    /**
+     * Ajoute plusieurs éléments au sommet de la pile, en une seule réservation de capacité.
+     *
+     * @param values Le tableau contenant les éléments.
+     * @param offset L'indice du premier élément à ajouter.
+     * @param length Le nombre d'éléments à ajouter.
+     */
+    @Override
+    public void pushAll(double[] values, int offset, int length) {
+        stackList.ensureCapacity(stackList.size() + length);
+        for (int i = offset; i < offset + length; i++) {
+            stackList.add(values[i]);
+        }
+    }
+
+    /**
+     * Retire plusieurs éléments du sommet de la pile en une seule opération sur la liste.
+     *
+     * @param destination Le tableau recevant les éléments, du plus profond au sommet.
+     * @param offset L'indice où écrire le plus profond des éléments retirés.
+     * @param count Le nombre d'éléments à retirer.
+     * @throws EmptyStackException Si la pile contient moins de {@code count} éléments ; elle reste alors inchangée.
+     */
+    @Override
+    public void popN(double[] destination, int offset, int count) throws EmptyStackException {
+        int size = stackList.size();
+        if (size < count) {
+            throw new EmptyStackException();
+        }
+        List<Double> top = stackList.subList(size - count, size);
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = top.get(i);
+        }
+        top.clear();
+    }
+
+    /**
+     * Copie plusieurs éléments de la pile sans la modifier.
+     *
+     * @param index La position du plus profond des éléments copiés, 0 désignant le fond de la pile.
+     * @param destination Le tableau recevant les éléments, du plus profond au plus haut.
+     * @param offset L'indice où écrire le plus profond des éléments copiés.
+     * @param count Le nombre d'éléments à copier.
+     * @throws IndexOutOfBoundsException Si la plage ne se trouve pas dans la pile.
+     */
+    @Override
+    public void copyTo(int index, double[] destination, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, stackList.size());
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = stackList.get(index + i);
+        }
+    }
 }
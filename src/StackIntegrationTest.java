@@ -19,7 +19,17 @@ public class StackIntegrationTest {
      */
     @BeforeEach
     public void setUp() {
-        stack = new StackImpl();
+        stack = createStack();
+    }
+
+    /**
+     * Crée l'implémentation de Stack testée. Les sous-classes peuvent la redéfinir
+     * pour exécuter cette suite contre une autre implémentation.
+     *
+     * @return Une nouvelle pile vide.
+     */
+    protected Stack createStack() {
+        return new StackImpl();
     }
 
     /**
@@ -34,6 +44,73 @@ public class StackIntegrationTest {
         assertTrue(stack.isEmpty());
     }
 
+    /**
+     * Teste que clear vide la pile et qu'elle reste utilisable ensuite.
+     */
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+        }
+        stack.clear();
+        assertTrue(stack.isEmpty());
+        assertEquals(0, stack.getSize());
+        assertThrows(EmptyStackException.class, () -> stack.pop());
+        stack.push(7.0);
+        assertEquals(7.0, stack.peek());
+        assertEquals(1, stack.getSize());
+    }
+
+    /**
+     * Teste pushAll et popN : les éléments sont ajoutés dans l'ordre et retirés du plus profond
+     * au sommet, et un retrait trop grand laisse la pile inchangée.
+     */
+    @Test
+    public void testPushAllAndPopN() {
+        stack.push(-1.0);
+        stack.pushAll(new double[]{9.0, 1.0, 2.0, 3.0, 9.0}, 1, 3);
+        assertEquals(4, stack.getSize());
+        assertEquals(3.0, stack.peek());
+
+        double[] popped = new double[5];
+        assertThrows(EmptyStackException.class, () -> stack.popN(popped, 0, 5));
+        assertEquals(4, stack.getSize());
+        stack.popN(popped, 1, 3);
+        assertArrayEquals(new double[]{0.0, 1.0, 2.0, 3.0, 0.0}, popped);
+        assertEquals(1, stack.getSize());
+        assertEquals(-1.0, stack.pop());
+
+        double[] many = new double[1000];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = i;
+        }
+        stack.pushAll(many, 0, many.length);
+        stack.popN(many, 0, 0);
+        assertEquals(999.0, stack.pop());
+        assertEquals(999, stack.getSize());
+    }
+
+    /**
+     * Teste la copie d'une plage de la pile sans la modifier, et le refus des plages hors de la pile.
+     */
+    @Test
+    public void testCopyTo() {
+        for (int i = 0; i < 10; i++) {
+            stack.push(i);
+        }
+        double[] copy = new double[6];
+        stack.copyTo(3, copy, 1, 4);
+        assertArrayEquals(new double[]{0.0, 3.0, 4.0, 5.0, 6.0, 0.0}, copy);
+        stack.copyTo(0, copy, 0, 0);
+        stack.copyTo(10, copy, 0, 0);
+        assertEquals(10, stack.getSize());
+        assertEquals(9.0, stack.peek());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.copyTo(7, copy, 0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.copyTo(-1, copy, 0, 1));
+        assertEquals(10, stack.getSize());
+    }
+
     /**
      * Teste la méthode getSize pour vérifier si la taille de la pile est correctement rapportée.
      */
@@ -0,0 +1,260 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enregistre le contenu d'une Stack dans un fichier instantané, et le restaure.
+ * Le fichier, en big-endian, commence par un en-tête de 16 octets :
+ * <pre>
+ * "RPNS" | version (int32) | nombre de valeurs (int64)
+ * </pre>
+ * suivi des valeurs brutes ({@code double} IEEE 754, 8 octets chacune), de la plus profonde au sommet,
+ * de sorte que NaN et -0.0 sont restaurés au bit près.
+ * Les valeurs sont lues et écrites au travers de projections en mémoire ({@link FileChannel#map})
+ * d'au plus 1 Gio chacune, ce qui permet des instantanés de plusieurs gigaoctets, et passent entre
+ * la pile et la projection par blocs, avec {@link Stack#copyTo} et {@link Stack#pushAll}.
+ * L'instantané est d'abord copié dans un fichier temporaire voisin, puis forcé sur disque et renommé
+ * atomiquement : un lecteur ou un redémarrage voit toujours l'ancien instantané ou le nouveau, jamais
+ * un fichier à moitié écrit.
+ */
+public final class StackSnapshot {
+
+    /**
+     * La version du format écrite par cette classe, et la seule qu'elle sait relire.
+     */
+    public static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 16;
+    private static final byte[] MAGIC = "RPNS".getBytes(StandardCharsets.US_ASCII);
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private StackSnapshot() {
+    }
+
+    /**
+     * Écrit le contenu de la pile dans le fichier, qui est créé ou remplacé atomiquement.
+     * La pile n'est pas modifiée ; elle ne doit pas l'être par un autre thread pendant l'écriture,
+     * sauf s'il s'agit d'une ConcurrentStack, dont un unique état est enregistré.
+     *
+     * @param stack La pile à enregistrer.
+     * @param file Le fichier instantané.
+     * @throws IOException Si le fichier ne peut pas être écrit ou renommé.
+     */
+    public static void write(Stack stack, Path file) throws IOException {
+        write(stack, file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Écrit le contenu de la pile avec une taille de projection donnée.
+     *
+     * @param windowSize La taille maximale, en octets, de chaque projection ; un multiple de 8.
+     */
+    static void write(Stack stack, Path file, int windowSize) throws IOException {
+        try (Copy copy = copy(stack, file, windowSize)) {
+            copy.commit();
+        }
+    }
+
+    /**
+     * Copie le contenu de la pile dans le fichier temporaire de l'instantané, sans le forcer sur disque
+     * ni le renommer : seule cette étape lit la pile, et le reste de l'écriture peut se faire après
+     * avoir rendu la pile à son propriétaire, avec {@link Copy#commit()}.
+     * Une ConcurrentStack est lue en un seul parcours de sa chaîne, depuis un unique sommet.
+     *
+     * @param stack La pile à enregistrer.
+     * @param file Le fichier instantané.
+     * @return La copie, à valider puis fermer.
+     * @throws IOException Si le fichier temporaire ne peut pas être écrit.
+     */
+    static Copy copy(Stack stack, Path file) throws IOException {
+        return copy(stack, file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Copie le contenu de la pile avec une taille de projection donnée.
+     *
+     * @param windowSize La taille maximale, en octets, de chaque projection ; un multiple de 8.
+     */
+    static Copy copy(Stack stack, Path file, int windowSize) throws IOException {
+        Copy copy = new Copy(file);
+        try {
+            if (stack instanceof ConcurrentStack concurrent) {
+                copy.writeChain(concurrent.top(), windowSize);
+            } else {
+                copy.writeStack(stack, windowSize);
+            }
+            return copy;
+        } catch (IOException | RuntimeException e) {
+            copy.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ajoute au sommet de la pile les valeurs d'un fichier instantané, dans leur ordre d'origine.
+     *
+     * @param file Le fichier instantané.
+     * @param stack La pile recevant les valeurs, en général vide.
+     * @return Le nombre de valeurs restaurées.
+     * @throws IOException Si le fichier ne peut pas être lu, n'est pas un instantané dans une version connue,
+     *                     est tronqué, ou contient plus de valeurs que la pile ne peut en recevoir ; la pile
+     *                     n'est alors pas modifiée.
+     */
+    public static int read(Path file, Stack stack) throws IOException {
+        return read(file, stack, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Restaure un fichier instantané avec une taille de projection donnée.
+     *
+     * @param windowSize La taille maximale, en octets, de chaque projection ; un multiple de 8.
+     */
+    static int read(Path file, Stack stack, int windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Not a stack snapshot: " + file);
+                }
+            }
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a stack snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long count = header.getLong();
+            if (count < 0 || channel.size() != HEADER_BYTES + count * Double.BYTES) {
+                throw new IOException("Snapshot size does not match its " + count + " values: " + file);
+            }
+            if (count > Integer.MAX_VALUE - stack.getSize()) {
+                throw new IOException("Snapshot holds too many values for the stack: " + count);
+            }
+
+            int size = (int) count;
+            double[] block = new double[Math.min(BLOCK_SIZE, size)];
+            int index = 0;
+            while (index < size) {
+                int values = Math.min(size - index, windowSize / Double.BYTES);
+                DoubleBuffer doubles = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + (long) index * Double.BYTES, (long) values * Double.BYTES).asDoubleBuffer();
+                for (int end = index + values; index < end; ) {
+                    int length = Math.min(block.length, end - index);
+                    doubles.get(block, 0, length);
+                    stack.pushAll(block, 0, length);
+                    index += length;
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Un instantané copié dans son fichier temporaire, mais pas encore forcé sur disque ni renommé.
+     * La fermeture sans {@link #commit()} abandonne le fichier temporaire et conserve l'ancien instantané.
+     */
+    static final class Copy implements Closeable {
+
+        private final Path file;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final List<MappedByteBuffer> windows = new ArrayList<>();
+
+        private Copy(Path file) throws IOException {
+            this.file = file;
+            this.temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Force la copie sur disque, puis remplace atomiquement le fichier instantané.
+         *
+         * @throws IOException Si le fichier temporaire ne peut pas être forcé ou renommé.
+         */
+        void commit() throws IOException {
+            for (MappedByteBuffer window : windows) {
+                window.force();
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Copie une pile quelconque par blocs, du fond vers le sommet, avec {@link Stack#copyTo}.
+         */
+        private void writeStack(Stack stack, int windowSize) throws IOException {
+            int size = stack.getSize();
+            writeHeader(size);
+            double[] block = new double[Math.min(BLOCK_SIZE, size)];
+            int index = 0;
+            while (index < size) {
+                int values = Math.min(size - index, windowSize / Double.BYTES);
+                DoubleBuffer doubles = map(index, values).asDoubleBuffer();
+                for (int end = index + values; index < end; ) {
+                    int count = Math.min(block.length, end - index);
+                    stack.copyTo(index, block, 0, count);
+                    doubles.put(block, 0, count);
+                    index += count;
+                }
+            }
+        }
+
+        /**
+         * Copie la chaîne d'une ConcurrentStack en la parcourant une seule fois, du sommet vers le fond :
+         * les projections sont remplies de la dernière à la première, chacune de sa fin à son début.
+         */
+        private void writeChain(ConcurrentStack.Node top, int windowSize) throws IOException {
+            int size = top == null ? 0 : top.size;
+            writeHeader(size);
+            int windowValues = windowSize / Double.BYTES;
+            ConcurrentStack.Node node = top;
+            for (int end = size; end > 0; ) {
+                int start = (end - 1) / windowValues * windowValues;
+                DoubleBuffer doubles = map(start, end - start).asDoubleBuffer();
+                for (int i = end - start - 1; i >= 0; i--) {
+                    doubles.put(i, node.value);
+                    node = node.next;
+                }
+                end = start;
+            }
+        }
+
+        private void writeHeader(int size) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).put(MAGIC).putInt(VERSION).putLong(size).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        private MappedByteBuffer map(int index, int values) throws IOException {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + (long) index * Double.BYTES, (long) values * Double.BYTES);
+            windows.add(window);
+            return window;
+        }
+    }
+}
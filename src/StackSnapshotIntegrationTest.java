@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de tests d'intégration pour StackSnapshot et StackCheckpointer.
+ * Ces tests vérifient l'aller-retour entre pile et fichier instantané, le découpage en projections,
+ * le refus des fichiers invalides et les instantanés en arrière-plan.
+ */
+public class StackSnapshotIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Teste l'aller-retour au bit près entre des piles de types différents, sans modifier la pile enregistrée.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = directory.resolve("stack.rpns");
+        double[] values = {1.5, -0.0, Double.NaN, Double.MIN_VALUE, Double.NEGATIVE_INFINITY, 42};
+        Stack stack = new StackImpl();
+        stack.pushAll(values, 0, values.length);
+        StackSnapshot.write(stack, file);
+        assertEquals(values.length, stack.getSize());
+        assertEquals(StackSnapshot.HEADER_BYTES + 8L * values.length, Files.size(file));
+        assertFalse(Files.exists(directory.resolve("stack.rpns.tmp")));
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals('R', header.get(0));
+        assertEquals(StackSnapshot.VERSION, header.getInt(4));
+        assertEquals(values.length, header.getLong(8));
+
+        DoubleArrayStackImpl restored = new DoubleArrayStackImpl();
+        restored.push(-1);
+        assertEquals(values.length, StackSnapshot.read(file, restored));
+        double[] copy = new double[values.length + 1];
+        restored.popN(copy, 0, copy.length);
+        assertEquals(-1.0, copy[0]);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(copy[i + 1]));
+        }
+
+        StackSnapshot.write(new StackImpl(), file);
+        assertEquals(0, StackSnapshot.read(file, restored));
+        assertTrue(restored.isEmpty());
+    }
+
+    /**
+     * Teste une grande pile hors tas découpée en de nombreuses projections et en plusieurs blocs de copie.
+     */
+    @Test
+    public void testManyWindows() throws IOException {
+        Path file = directory.resolve("large.rpns");
+        int count = 300_000;
+        try (OffHeapStack stack = new OffHeapStack(1000); OffHeapStack restored = new OffHeapStack(777)) {
+            for (int i = 0; i < count; i++) {
+                stack.push(i * 0.5);
+            }
+            StackSnapshot.write(stack, file, 8 * 4096);
+            assertEquals(count, StackSnapshot.read(file, restored, 8 * 1000));
+            assertEquals(count, restored.getSize());
+            for (int i = count - 1; i >= 0; i--) {
+                assertEquals(i * 0.5, restored.pop());
+            }
+        }
+    }
+
+    /**
+     * Teste l'enregistrement d'une ConcurrentStack en un seul parcours, sur plusieurs projections,
+     * puis qu'une copie fermée sans validation laisse l'instantané précédent en place.
+     */
+    @Test
+    public void testConcurrentStack() throws IOException {
+        Path file = directory.resolve("concurrent.rpns");
+        int count = 10_000;
+        ConcurrentStack stack = new ConcurrentStack();
+        for (int i = 0; i < count; i++) {
+            stack.push(i);
+        }
+        StackSnapshot.write(stack, file, 8 * 3000);
+        DoubleArrayStackImpl restored = new DoubleArrayStackImpl();
+        assertEquals(count, StackSnapshot.read(file, restored));
+        for (int i = count - 1; i >= 0; i--) {
+            assertEquals(i, restored.pop());
+        }
+
+        stack.clear();
+        try (StackSnapshot.Copy copy = StackSnapshot.copy(stack, file)) {
+            assertNotNull(copy);
+        }
+        assertEquals(count, StackSnapshot.read(file, restored));
+    }
+
+    /**
+     * Teste le refus des fichiers qui ne sont pas des instantanés valides ; la pile reste alors inchangée.
+     */
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path file = directory.resolve("invalid.rpns");
+        Stack stack = new DoubleArrayStackImpl();
+
+        Files.write(file, new byte[]{'R', 'P', 'N'});
+        assertThrows(IOException.class, () -> StackSnapshot.read(file, stack));
+        Files.write(file, ByteBuffer.allocate(16).put("RPNX".getBytes()).putInt(1).putLong(0).array());
+        assertThrows(IOException.class, () -> StackSnapshot.read(file, stack));
+        Files.write(file, ByteBuffer.allocate(16).put("RPNS".getBytes()).putInt(2).putLong(0).array());
+        assertThrows(IOException.class, () -> StackSnapshot.read(file, stack));
+        Files.write(file, ByteBuffer.allocate(24).put("RPNS".getBytes()).putInt(1).putLong(2).putDouble(1).array());
+        assertThrows(IOException.class, () -> StackSnapshot.read(file, stack));
+        assertTrue(stack.isEmpty());
+    }
+
+    /**
+     * Teste les instantanés périodiques, puis le dernier instantané pris à la fermeture.
+     */
+    @Test
+    public void testCheckpointer() throws Exception {
+        Path file = directory.resolve("session.rpns");
+        Stack stack = new DoubleArrayStackImpl();
+        stack.push(1);
+        StackCheckpointer checkpointer = new StackCheckpointer(stack, file, Duration.ofMillis(10));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (checkpointer.getCheckpointCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(checkpointer.getCheckpointCount() > 0);
+        Stack restored = new StackImpl();
+        assertEquals(1, StackSnapshot.read(file, restored));
+
+        synchronized (stack) {
+            stack.push(2);
+        }
+        checkpointer.close();
+        checkpointer.close();
+        restored.clear();
+        assertEquals(2, StackSnapshot.read(file, restored));
+        assertEquals(2.0, restored.peek());
+
+        assertThrows(IllegalArgumentException.class, () -> new StackCheckpointer(stack, file, Duration.ZERO));
+    }
+}
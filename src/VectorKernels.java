@@ -0,0 +1,84 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Les noyaux vectoriels de BatchEvaluator, isolés dans leur propre classe afin que
+ * l'API Vector ne soit chargée que lorsque le module {@code jdk.incubator.vector} est présent.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Applique une opération binaire sur deux tampons : {@code left[i] = left[i] op right[i]}.
+     * Les lignes qui ne remplissent pas un vecteur complet sont traitées de façon scalaire.
+     *
+     * @throws DivideByZeroException Si l'opération est une division et qu'un diviseur est nul.
+     */
+    static void apply(byte opCode, double[] left, double[] right, int count) throws DivideByZeroException {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        switch (opCode) {
+            case OpCode.ADD -> {
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, left, i).add(DoubleVector.fromArray(SPECIES, right, i)).intoArray(left, i);
+                }
+                for (; i < count; i++) {
+                    left[i] += right[i];
+                }
+            }
+            case OpCode.SUBTRACT -> {
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, left, i).sub(DoubleVector.fromArray(SPECIES, right, i)).intoArray(left, i);
+                }
+                for (; i < count; i++) {
+                    left[i] -= right[i];
+                }
+            }
+            case OpCode.MULTIPLY -> {
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, left, i).mul(DoubleVector.fromArray(SPECIES, right, i)).intoArray(left, i);
+                }
+                for (; i < count; i++) {
+                    left[i] *= right[i];
+                }
+            }
+            case OpCode.DIVIDE -> {
+                for (; i < bound; i += SPECIES.length()) {
+                    DoubleVector divisor = DoubleVector.fromArray(SPECIES, right, i);
+                    if (divisor.compare(VectorOperators.EQ, 0.0).anyTrue()) {
+                        throw new DivideByZeroException();
+                    }
+                    DoubleVector.fromArray(SPECIES, left, i).div(divisor).intoArray(left, i);
+                }
+                for (; i < count; i++) {
+                    if (right[i] == 0) {
+                        throw new DivideByZeroException();
+                    }
+                    left[i] /= right[i];
+                }
+            }
+            default -> throw new IllegalStateException("Unknown opcode: " + opCode);
+        }
+    }
+
+    /**
+     * Applique une multiplication-addition sur trois tampons : {@code a[i] = fma(a[i], b[i], c[i])}.
+     */
+    static void multiplyAdd(double[] a, double[] b, double[] c, int count) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i)
+                    .fma(DoubleVector.fromArray(SPECIES, b, i), DoubleVector.fromArray(SPECIES, c, i))
+                    .intoArray(a, i);
+        }
+        for (; i < count; i++) {
+            a[i] = Math.fma(a[i], b[i], c[i]);
+        }
+    }
+}